@@ -0,0 +1,105 @@
+package com.appointment.booking.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.appointment.booking.BookingApplication;
+import com.appointment.booking.dto.BookingDTO;
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.service.BookingService;
+import com.appointment.booking.service.SlotCapacityLedger;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * End to end BookingService.createBooking - the whole application in process,
+ * against an embedded PostgreSQL (the native queries need the real thing)
+ *
+ * Each call books a new guest (user insert + slot reservation + booking insert),
+ * round-robin over the seeded slots. Slots are emptied before every iteration,
+ * so no call ever hits a full slot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateBookingBenchmark {
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private SlotCapacityLedger slotCapacityLedger;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> slotIds;
+    private final AtomicLong guests = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException, URISyntaxException {
+        postgres = EmbeddedPostgres.start();
+        // JMH forks through a classpath jar, which Hibernate's classpath: lookup misses
+        URI cacheConfig = getClass().getResource("/hibernate-cache.conf").toURI();
+        // Command line arguments - they override application.properties
+        context = new SpringApplicationBuilder(BookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.jpa.properties.hibernate.javax.cache.uri=" + cacheConfig,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        bookingService = context.getBean(BookingService.class);
+        slotCapacityLedger = context.getBean(SlotCapacityLedger.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        slotIds = jdbcTemplate.queryForList(
+                "SELECT id FROM slots WHERE slot_date >= CURRENT_DATE ORDER BY id", Long.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptySlots() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("UPDATE slots SET current_bookings = 0, is_available = true");
+        slotIds.forEach(slotCapacityLedger::evict);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public BookingDTO createBooking() {
+        long guest = guests.incrementAndGet();
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setSlotId(slotIds.get((int) (guest % slotIds.size())));
+        request.setName("Benchmark Guest " + guest);
+        request.setPhoneNumber(String.format("07%08d", guest));
+        request.setNic(String.format("B%011d", guest));
+        request.setPatientNotes("benchmark");
+        return bookingService.createBooking(request);
+    }
+}
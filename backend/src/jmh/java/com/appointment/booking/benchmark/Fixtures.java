@@ -0,0 +1,66 @@
+package com.appointment.booking.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.entity.Booking;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Hospital;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+
+/**
+ * In-memory entities and DTOs shaped like the seed data (DataInitializer)
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Hospital hospital() {
+        return new Hospital(1L, "Apollo Hospital", "123 Main Street", "Colombo", "0112345678");
+    }
+
+    static Doctor doctor() {
+        return new Doctor(1L, "Dr. Anil Fernando", "Cardiology", "MBBS, MD (Cardiology)", 15, 5000.0, hospital());
+    }
+
+    /**
+     * A slot half way through the day - 12 of 30 positions booked
+     */
+    static Slot slot() {
+        Slot slot = new Slot(100L, LocalDate.now().plusDays(3), LocalTime.of(9, 0), doctor());
+        slot.setCurrentBookings(12);
+        return slot;
+    }
+
+    static Booking booking() {
+        User user = new User(7L, "Guest Patient", null, "0771234567", "199012345678", null, null);
+        Slot slot = slot();
+        Booking booking = new Booking(user, slot, LocalDateTime.now(), slot.getAppointmentTime(13),
+                Booking.BookingStatus.CONFIRMED);
+        booking.setId(500L);
+        booking.setPatientNotes("Follow-up visit");
+        booking.setAmountPaid(5000.0);
+        return booking;
+    }
+
+    /**
+     * What a slot listing returns - read through the SlotDTO projection constructor
+     */
+    static List<SlotDTO> slotDTOs(int count) {
+        List<SlotDTO> slots = new ArrayList<>(count);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            slots.add(new SlotDTO((long) i, today.plusDays(i % 14), LocalTime.of(9, 0),
+                    30, i % 30, 10, true,
+                    (long) (i % 20), "Dr. Anil Fernando", "Cardiology",
+                    (long) (i % 8), "Apollo Hospital", "123 Main Street", "Colombo", "0112345678"));
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,98 @@
+package com.appointment.booking.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.appointment.booking.dto.BookingDTO;
+import com.appointment.booking.dto.DisplayFormats;
+import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.entity.Booking;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.service.MappingService;
+
+/**
+ * Entity -> DTO mapping (MappingService) and the DisplayFormats formatting inside it
+ *
+ * The format* methods isolate DateTimeFormatter cost; isoDate (LocalDate.toString)
+ * is the formatter-free baseline for the same text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private MappingService mappingService;
+    private Slot slot;
+    private Booking booking;
+    private LocalDate date;
+    private LocalTime time;
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setUp() {
+        mappingService = new MappingService();
+        slot = Fixtures.slot();
+        booking = Fixtures.booking();
+        date = slot.getSlotDate();
+        time = booking.getAppointmentTime();
+        dateTime = booking.getBookingTime();
+    }
+
+    @Benchmark
+    public SlotDTO toSlotDTO() {
+        return mappingService.toSlotDTO(slot);
+    }
+
+    @Benchmark
+    public BookingDTO toBookingDTO() {
+        return mappingService.toBookingDTO(booking);
+    }
+
+    /**
+     * The read-path alternative: SlotDTO filled straight from a query row
+     */
+    @Benchmark
+    public SlotDTO projectSlotDTO() {
+        return new SlotDTO(slot.getId(), slot.getSlotDate(), slot.getConsultationStartTime(),
+                slot.getMaxBookingsPerDay(), slot.getCurrentBookings(), slot.getMinutesPerPatient(),
+                slot.getIsAvailable(),
+                1L, "Dr. Anil Fernando", "Cardiology",
+                1L, "Apollo Hospital", "123 Main Street", "Colombo", "0112345678");
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return date.format(DisplayFormats.DATE);
+    }
+
+    @Benchmark
+    public String isoDate() {
+        return date.toString();
+    }
+
+    @Benchmark
+    public String formatTime() {
+        return time.format(DisplayFormats.TIME);
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return dateTime.format(DisplayFormats.DATETIME);
+    }
+}
@@ -0,0 +1,66 @@
+package com.appointment.booking.benchmark;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.appointment.booking.entity.Slot;
+
+/**
+ * Slot time / capacity arithmetic on the boxed Integer fields
+ * (currentBookings, maxBookingsPerDay, minutesPerPatient)
+ *
+ * currentBookings 127 vs 200: inside vs outside the Integer cache (-128..127),
+ * so getRemainingSlots shows the boxing allocation where it can happen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotArithmeticBenchmark {
+
+    @Param({ "12", "127", "200" })
+    private int currentBookings;
+
+    private Slot slot;
+
+    @Setup
+    public void setUp() {
+        slot = Fixtures.slot();
+        slot.setMaxBookingsPerDay(400);
+        slot.setCurrentBookings(currentBookings);
+    }
+
+    @Benchmark
+    public LocalTime getNextAvailableTime() {
+        return slot.getNextAvailableTime();
+    }
+
+    @Benchmark
+    public LocalTime getEstimatedEndTime() {
+        return slot.getEstimatedEndTime();
+    }
+
+    @Benchmark
+    public LocalTime getAppointmentTime() {
+        return slot.getAppointmentTime(currentBookings + 1);
+    }
+
+    @Benchmark
+    public Integer getRemainingSlots() {
+        return slot.getRemainingSlots();
+    }
+}
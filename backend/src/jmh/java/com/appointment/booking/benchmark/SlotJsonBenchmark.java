@@ -0,0 +1,70 @@
+package com.appointment.booking.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.dto.SlotPageDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of slot listings - page sizes of GET /api/slots
+ * (default 50, max 200)
+ *
+ * The ObjectMapper is built like Spring Boot's (Jackson2ObjectMapperBuilder).
+ * writePage is the HTTP path - the message converter writes to the response stream,
+ * so it measures serialization without collecting the output into a byte[].
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotJsonBenchmark {
+
+    @Param({ "50", "200" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<SlotDTO> slots;
+    private SlotPageDTO page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        slots = Fixtures.slotDTOs(size);
+        page = new SlotPageDTO(slots, "MjAyNi0xMC0xN3wwOTowMHwxMjM");
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(slots);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public void writePage() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
@@ -2,8 +2,10 @@ package com.appointment.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BookingApplication {
     public static void main(String[] args) {
         SpringApplication.run(BookingApplication.class, args);
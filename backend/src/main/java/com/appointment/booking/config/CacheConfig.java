@@ -0,0 +1,84 @@
+package com.appointment.booking.config;
+
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache Configuration
+ *
+ * WHY: Hospitals and doctors are loaded on every app launch
+ * but only change when an admin edits them. Caffeine keeps them in memory.
+ * (The doctor list itself is served by DoctorDirectory - a prebuilt snapshot.)
+ *
+ * TWO LEVELS:
+ * 1. Spring cache (HOSPITALS): the finished DTO lists
+ *    - BOUNDS: maximumSize + expireAfterWrite (spring.cache.caffeine.spec)
+ *    - EVICTION: @CacheEvict on the AdminService / DoctorService / HospitalService writes
+ *    - METRICS: cache.gets (hit/miss), cache.evictions, cache.size, tagged by cache name
+ * 2. Hibernate second-level cache (JCache/Caffeine, hibernate-cache.conf):
+ *    - Hospital / Doctor entities by id: lazy doctor/hospital loads (bookings, slot
+ *      lookups) are answered from memory, no SQL
+ *    - Query results: specializations, hospitals by city
+ *    - EVICTION: automatic - Hibernate updates entity regions on write and invalidates
+ *      query regions when their tables change
+ *    - METRICS: hibernate.second.level.cache.requests (hit/miss) / .puts per region,
+ *      plus hibernate.cache.region.hit.ratio below
+ *
+ * ORDER: Cache advice runs OUTSIDE the transaction advice, so evictions
+ * happen after the write has committed (not before a concurrent read can see it).
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String HOSPITALS = "hospitals";
+
+    // Hibernate second-level cache regions (bounds in hibernate-cache.conf)
+    public static final String HOSPITAL_REGION = "entity-hospital";
+    public static final String DOCTOR_REGION = "entity-doctor";
+    public static final String SPECIALIZATIONS_QUERY_REGION = "query-specializations";
+    public static final String HOSPITALS_BY_CITY_QUERY_REGION = "query-hospitals-by-city";
+
+    /**
+     * Hit ratio per second-level cache region (NaN until the region has been read)
+     */
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            registerHitRatio(registry, HOSPITAL_REGION, statistics::getCacheRegionStatistics);
+            registerHitRatio(registry, DOCTOR_REGION, statistics::getCacheRegionStatistics);
+            registerHitRatio(registry, SPECIALIZATIONS_QUERY_REGION, statistics::getQueryRegionStatistics);
+            registerHitRatio(registry, HOSPITALS_BY_CITY_QUERY_REGION, statistics::getQueryRegionStatistics);
+        };
+    }
+
+    private static void registerHitRatio(MeterRegistry registry, String region,
+            Function<String, CacheRegionStatistics> lookup) {
+        Gauge.builder("hibernate.cache.region.hit.ratio", () -> hitRatio(lookup.apply(region)))
+                .description("Second-level cache hits / lookups since startup")
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long hits = region.getHitCount();
+        long lookups = hits + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,156 @@
+package com.appointment.booking.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Database Bulkhead
+ *
+ * WHY: The Hikari pool has a handful of connections. Without a limit in front of it,
+ * every extra request thread (hundreds of platform threads, or any number of virtual
+ * threads) parks in Hikari's wait queue for up to connectionTimeout (30s), and
+ * timeouts cascade back to clients all at once.
+ *
+ * HOW: API requests take a permit before the handler runs, so requests that get in
+ * find a connection. A request that can't get a permit within
+ * booking.db.bulkhead.max-wait-ms is turned away at once with 503 + Retry-After
+ * instead of queueing.
+ *
+ * PERMITS = pool size - booking.db.bulkhead.reserved-connections. The reserve serves
+ * the small background jobs (purges, index refreshes) and the cold loads of
+ * @ServedFromMemory handlers, which take no permit. SlotHorizonScheduler workers
+ * share the permits with requests (callWithPermit).
+ *
+ * The permit is held for the whole request (one request = at most one connection),
+ * including streamed responses (admin export) - they hold their cursor connection
+ * until the async dispatch completes.
+ *
+ * METRICS (/actuator/metrics):
+ * - db.bulkhead.wait: queue time per request, tagged outcome=acquired|rejected
+ * - db.bulkhead.rejected: requests answered with 503
+ * - db.bulkhead.available / db.bulkhead.waiting: free permits / queued requests
+ */
+@Component
+public class DatabaseBulkhead implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseBulkhead.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+
+    private final Timer acquired;
+    private final Timer rejectedWait;
+    private final Counter rejected;
+
+    public DatabaseBulkhead(MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${booking.db.bulkhead.reserved-connections:2}") int reservedConnections,
+            @Value("${booking.db.bulkhead.max-wait-ms:500}") long maxWaitMs) {
+        this.permits = new Semaphore(Math.max(1, poolSize - reservedConnections), true);
+        this.maxWaitMs = maxWaitMs;
+
+        this.acquired = Timer.builder("db.bulkhead.wait")
+                .description("Time requests queued for a database permit")
+                .tag("outcome", "acquired")
+                .register(meterRegistry);
+        this.rejectedWait = Timer.builder("db.bulkhead.wait")
+                .description("Time requests queued for a database permit")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("db.bulkhead.rejected")
+                .description("Requests rejected with 503 - no database permit within the wait budget")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Free database permits")
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a database permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        // The async re-dispatch of a streamed response has already been through here
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(ServedFromMemory.class)) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            granted = false;
+        }
+        long waited = System.nanoTime() - start;
+
+        if (granted) {
+            acquired.record(waited, TimeUnit.NANOSECONDS);
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        rejectedWait.record(waited, TimeUnit.NANOSECONDS);
+        rejected.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Server is busy - please try again");
+        return false;
+    }
+
+    /**
+     * Streamed responses keep their permit - afterCompletion of the async dispatch releases it
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        release(request);
+    }
+
+    /**
+     * Run background database work under a permit - waits as long as it takes
+     * (background jobs have no client to answer with 503)
+     */
+    public <T> T callWithPermit(Callable<T> work) throws Exception {
+        long start = System.nanoTime();
+        permits.acquire();
+        acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return work.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
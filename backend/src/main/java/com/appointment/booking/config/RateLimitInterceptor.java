@@ -0,0 +1,67 @@
+package com.appointment.booking.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.appointment.booking.config.RateLimiter.Endpoint;
+import com.appointment.booking.config.RateLimiter.KeyType;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate Limit Interceptor
+ *
+ * WHY: Turns abusive clients away with 429 before they reach the DB bulkhead,
+ * so they don't take permits (and connections) from legitimate bookings.
+ *
+ * One instance per endpoint (see WebConfig):
+ * - Client IP bucket: always (request.getRemoteAddr() - behind a proxy, set
+ *   server.forward-headers-strategy so this is the real client)
+ * - phone + NIC bucket: when they are query parameters (lookups). POST /api/bookings
+ *   carries them in the body, so BookingController checks that one itself
+ *   (BookingBatchService once per batch item).
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final Endpoint endpoint;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, Endpoint endpoint) {
+        this.rateLimiter = rateLimiter;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        // Error dispatches and CORS preflights - only the real request pays
+        if (request.getDispatcherType() != DispatcherType.REQUEST || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+
+        long wait = rateLimiter.tryAcquire(endpoint, KeyType.IP, request.getRemoteAddr());
+        if (wait == 0) {
+            String identity = RateLimiter.identity(request.getParameter("phoneNumber"), request.getParameter("nic"));
+            if (identity != null) {
+                wait = rateLimiter.tryAcquire(endpoint, KeyType.IDENTITY, identity);
+            }
+        }
+        if (wait == 0) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RateLimiter.retryAfterSeconds(wait));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Too many requests - please try again later");
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+package com.appointment.booking.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rate Limiter
+ *
+ * WHY: POST /api/bookings and the phone + NIC lookups are public. One scraper or
+ * runaway client could otherwise keep the 5 DB connections busy for everyone.
+ *
+ * HOW: One token bucket per (endpoint, client IP) and per (endpoint, phone + NIC).
+ * - A bucket holds up to capacity tokens and refills at refill-per-minute
+ * - Lock-free: a bucket is a single AtomicLong (the time it will be full again,
+ *   GCRA form of the token bucket) updated with compare-and-set
+ * - Buckets live in a Caffeine map: idle buckets expire once they would have
+ *   refilled anyway, and max-keys bounds memory when keys are sprayed
+ *
+ * CONFIG (per endpoint and key):
+ *   booking.rate-limit.{create|lookup}.{ip|identity}.capacity / .refill-per-minute
+ *
+ * METRICS (/actuator/metrics):
+ * - booking.ratelimit.rejected: requests answered with 429, tagged endpoint + key
+ * - booking.ratelimit.buckets: buckets currently held in memory
+ */
+@Component
+public class RateLimiter {
+
+    public enum Endpoint {
+        CREATE_BOOKING("create", 20, 20, 5, 1),
+        LOOKUP_BOOKINGS("lookup", 60, 60, 10, 10);
+
+        private final String name;
+        private final int[] ipDefaults;
+        private final int[] identityDefaults;
+
+        Endpoint(String name, int ipCapacity, int ipPerMinute, int identityCapacity, int identityPerMinute) {
+            this.name = name;
+            this.ipDefaults = new int[] { ipCapacity, ipPerMinute };
+            this.identityDefaults = new int[] { identityCapacity, identityPerMinute };
+        }
+    }
+
+    public enum KeyType {
+        IP("ip"),
+        IDENTITY("identity");
+
+        private final String name;
+
+        KeyType(String name) {
+            this.name = name;
+        }
+    }
+
+    /** Bucket settings: burst = capacity * nanosPerToken */
+    private record Limit(long nanosPerToken, long burstNanos) {
+    }
+
+    private final Map<Endpoint, Map<KeyType, Limit>> limits = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<KeyType, Counter>> rejected = new EnumMap<>(Endpoint.class);
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry,
+            @Value("${booking.rate-limit.max-keys:100000}") long maxKeys) {
+        long longestRefill = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Map<KeyType, Limit> endpointLimits = new EnumMap<>(KeyType.class);
+            Map<KeyType, Counter> endpointRejected = new EnumMap<>(KeyType.class);
+            for (KeyType keyType : KeyType.values()) {
+                int[] defaults = keyType == KeyType.IP ? endpoint.ipDefaults : endpoint.identityDefaults;
+                String prefix = "booking.rate-limit." + endpoint.name + "." + keyType.name;
+                int capacity = environment.getProperty(prefix + ".capacity", Integer.class, defaults[0]);
+                int perMinute = environment.getProperty(prefix + ".refill-per-minute", Integer.class, defaults[1]);
+
+                long nanosPerToken = TimeUnit.MINUTES.toNanos(1) / perMinute;
+                Limit limit = new Limit(nanosPerToken, capacity * nanosPerToken);
+                endpointLimits.put(keyType, limit);
+                longestRefill = Math.max(longestRefill, limit.burstNanos());
+
+                endpointRejected.put(keyType, Counter.builder("booking.ratelimit.rejected")
+                        .description("Requests rejected with 429 - token bucket empty")
+                        .tag("endpoint", endpoint.name)
+                        .tag("key", keyType.name)
+                        .register(meterRegistry));
+            }
+            limits.put(endpoint, endpointLimits);
+            rejected.put(endpoint, endpointRejected);
+        }
+
+        // A bucket idle for longer than its refill time is full again - same as a new one
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(longestRefill))
+                .build();
+
+        Gauge.builder("booking.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one token from the bucket for this key
+     *
+     * @return 0 if the request may go ahead, otherwise the nanoseconds until a token is free
+     */
+    public long tryAcquire(Endpoint endpoint, KeyType keyType, String key) {
+        Limit limit = limits.get(endpoint).get(keyType);
+        AtomicLong fullAt = buckets.get(endpoint.name + ':' + keyType.name + ':' + key,
+                k -> new AtomicLong(System.nanoTime()));
+
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + limit.nanosPerToken();
+            long overdraw = next - now - limit.burstNanos();
+            if (overdraw > 0) {
+                rejected.get(endpoint).get(keyType).increment();
+                return overdraw;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Key for the phone + NIC bucket - null if either is missing (nothing to limit on)
+     */
+    public static String identity(String phoneNumber, String nic) {
+        if (phoneNumber == null || nic == null || phoneNumber.isBlank() || nic.isBlank()) {
+            return null;
+        }
+        return phoneNumber.trim() + '|' + nic.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Retry-After header value: whole seconds, rounded up
+     */
+    public static String retryAfterSeconds(long waitNanos) {
+        return String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+    }
+}
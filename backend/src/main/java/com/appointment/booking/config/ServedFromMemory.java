@@ -0,0 +1,20 @@
+package com.appointment.booking.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler answered from in-memory state (snapshots, indexes)
+ *
+ * DatabaseBulkhead lets these through without a permit - they don't need a
+ * connection. Their occasional cold load (first request, after an invalidation)
+ * runs on the connections the bulkhead keeps in reserve.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ServedFromMemory {
+}
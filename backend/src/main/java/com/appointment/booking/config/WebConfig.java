@@ -0,0 +1,38 @@
+package com.appointment.booking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.appointment.booking.config.RateLimiter.Endpoint;
+
+/**
+ * Web MVC Configuration
+ *
+ * WHY: Registers the request interceptors that guard the API, in this order
+ * - RateLimitInterceptor: per-client token buckets on the booking + lookup endpoints
+ *   (batch bookings and waitlist join count as bookings, waitlist position checks as a lookup)
+ * - DatabaseBulkhead: caps concurrent database requests below the connection pool size
+ *   (not the live slot stream or @ServedFromMemory handlers - they need no connection)
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+    private final DatabaseBulkhead databaseBulkhead;
+
+    public WebConfig(RateLimiter rateLimiter, DatabaseBulkhead databaseBulkhead) {
+        this.rateLimiter = rateLimiter;
+        this.databaseBulkhead = databaseBulkhead;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, Endpoint.CREATE_BOOKING))
+                .addPathPatterns("/api/bookings", "/api/bookings/batch", "/api/waitlist");
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, Endpoint.LOOKUP_BOOKINGS))
+                .addPathPatterns("/api/bookings/lookup/**", "/api/waitlist/*");
+        registry.addInterceptor(databaseBulkhead).addPathPatterns("/api/**")
+                .excludePathPatterns("/api/slots/stream"); // no DB work, and it stays open
+    }
+}
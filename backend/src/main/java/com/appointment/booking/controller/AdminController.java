@@ -1,8 +1,11 @@
 package com.appointment.booking.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.appointment.booking.dto.admin.BulkDoctorImportRequestDTO;
 import com.appointment.booking.dto.admin.DoctorAdminDTO;
@@ -21,6 +25,7 @@ import com.appointment.booking.dto.admin.SlotGenerationRequestDTO;
 import com.appointment.booking.entity.Booking;
 import com.appointment.booking.entity.Slot;
 import com.appointment.booking.service.AdminService;
+import com.appointment.booking.service.AdminService.ExportFormat;
 
 import lombok.RequiredArgsConstructor;
 
@@ -97,6 +102,29 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getAllBookings(status));
     }
 
+    /**
+     * Streamed export, written row by row: format=ndjson|csv
+     * Example: GET /api/admin/bookings?status=CONFIRMED&format=csv
+     */
+    @GetMapping(value = "/bookings", params = "format")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam String format) {
+        ExportFormat exportFormat = ExportFormat.from(format).orElse(null);
+        if (exportFormat == null) {
+            byte[] message = ("Unsupported export format: " + format).getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(message));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getFileExtension() + "\"")
+                .body(out -> adminService.exportBookings(status, exportFormat, out));
+    }
+
     @GetMapping("/bookings/stats")
     public ResponseEntity<Map<String, Object>> getBookingStats() {
         return ResponseEntity.ok(adminService.getBookingStats());
@@ -1,8 +1,11 @@
 package com.appointment.booking.controller;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,13 +13,21 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.appointment.booking.config.RateLimiter;
+import com.appointment.booking.config.RateLimiter.Endpoint;
+import com.appointment.booking.config.RateLimiter.KeyType;
+import com.appointment.booking.dto.BookingBatchRequestDTO;
+import com.appointment.booking.dto.BookingBatchResultDTO;
 import com.appointment.booking.dto.BookingDTO;
 import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.service.BookingBatchService;
 import com.appointment.booking.service.BookingService;
+import com.appointment.booking.service.IdempotencyService;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -24,9 +35,18 @@ import com.appointment.booking.service.BookingService;
 public class BookingController {
     
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
+    private final RateLimiter rateLimiter;
+    private final IdempotencyService idempotencyService;
     
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                            BookingBatchService bookingBatchService,
+                            RateLimiter rateLimiter,
+                            IdempotencyService idempotencyService) {
         this.bookingService = bookingService;
+        this.bookingBatchService = bookingBatchService;
+        this.rateLimiter = rateLimiter;
+        this.idempotencyService = idempotencyService;
     }
     
     /**
@@ -44,10 +64,42 @@ public class BookingController {
      *   "gender": "MALE",              // optional
      *   "patientNotes": "First visit"  // optional
      * }
+     * 
+     * RATE LIMIT: per client IP (RateLimitInterceptor) and per phone + NIC (here -
+     * they are in the body). Over the limit: 429 + Retry-After
+     * A resend of a completed Idempotency-Key is replayed before the phone + NIC
+     * limit is checked - it doesn't use up the patient's attempts.
+     * 
+     * IDEMPOTENCY (optional header): Idempotency-Key: <unique id per booking attempt>
+     * - Resending with the same key replays the first 201 response
+     *   (header Idempotent-Replayed: true) - no second booking
+     * - 409 while the first request is still running, 422 if the key was used
+     *   for a different request body
      */
     @PostMapping
-    public ResponseEntity<?> createBooking(@RequestBody BookingRequestDTO request) {
+    public ResponseEntity<?> createBooking(@RequestBody BookingRequestDTO request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
+            if (idempotencyKey != null) {
+                Optional<IdempotencyService.Outcome> replay = idempotencyService.findReplay(idempotencyKey, request);
+                if (replay.isPresent()) {
+                    return idempotentResponse(replay.get());
+                }
+            }
+            String identity = RateLimiter.identity(request.getPhoneNumber(), request.getNic());
+            if (identity != null) {
+                long wait = rateLimiter.tryAcquire(Endpoint.CREATE_BOOKING, KeyType.IDENTITY, identity);
+                if (wait > 0) {
+                    return ResponseEntity
+                        .status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, RateLimiter.retryAfterSeconds(wait))
+                        .body("Too many booking attempts for this patient - please try again later");
+                }
+            }
+            if (idempotencyKey != null) {
+                return idempotentResponse(idempotencyService.execute(idempotencyKey, request,
+                    HttpStatus.CREATED.value(), () -> bookingService.createBooking(request)));
+            }
             BookingDTO booking = bookingService.createBooking(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(booking);
         } catch (RuntimeException e) {
@@ -57,6 +109,37 @@ public class BookingController {
         }
     }
     
+    /**
+     * NEW: POST /api/bookings/batch
+     * Create many bookings in one request (call centres)
+     * 
+     * REQUEST BODY:
+     * {
+     *   "bookings": [ { same fields as POST /api/bookings }, ... ]
+     * }
+     * 
+     * RESPONSE: 200 OK with one result per item, in request order
+     * {
+     *   "succeeded": 1,
+     *   "failed": 1,
+     *   "results": [
+     *     { "index": 0, "booking": { ... }, "error": null },
+     *     { "index": 1, "booking": null, "error": "Slot is not available" }
+     *   ]
+     * }
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBookings(@RequestBody BookingBatchRequestDTO request) {
+        try {
+            BookingBatchResultDTO result = bookingBatchService.createBookings(request);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        }
+    }
+    
     /**
      * NEW: GET /api/bookings/lookup
      * Get bookings by phone number and NIC
@@ -136,4 +219,23 @@ public class BookingController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Stored (or just stored) JSON goes out as is; conflicts as plain text
+     */
+    private static ResponseEntity<String> idempotentResponse(IdempotencyService.Outcome outcome) {
+        switch (outcome.result()) {
+            case EXECUTED:
+                return ResponseEntity.status(outcome.status())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outcome.body());
+            case REPLAYED:
+                return ResponseEntity.status(outcome.status())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Idempotent-Replayed", "true")
+                    .body(outcome.body());
+            default:
+                return ResponseEntity.status(outcome.status()).body(outcome.body());
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.appointment.booking.controller;
 
+import com.appointment.booking.config.ServedFromMemory;
+import com.appointment.booking.dto.DoctorAvailabilityDTO;
 import com.appointment.booking.dto.DoctorDTO;
+import com.appointment.booking.service.DoctorAvailabilityCalendar;
+import com.appointment.booking.service.DoctorDirectory;
 import com.appointment.booking.service.DoctorService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -18,6 +27,7 @@ import java.util.List;
  * - Filter by hospital
  * - Filter by specialization
  * - Get available specializations (for dropdown)
+ * - Availability calendar of a doctor (for the date picker)
  */
 @RestController
 @RequestMapping("/api/doctors")
@@ -25,9 +35,14 @@ import java.util.List;
 public class DoctorController {
     
     private final DoctorService doctorService;
+    private final DoctorDirectory doctorDirectory;
+    private final DoctorAvailabilityCalendar availabilityCalendar;
     
-    public DoctorController(DoctorService doctorService) {
+    public DoctorController(DoctorService doctorService, DoctorDirectory doctorDirectory,
+                            DoctorAvailabilityCalendar availabilityCalendar) {
         this.doctorService = doctorService;
+        this.doctorDirectory = doctorDirectory;
+        this.availabilityCalendar = availabilityCalendar;
     }
     
     /**
@@ -47,9 +62,11 @@ public class DoctorController {
      * WHY required = false:
      * - Parameters are optional
      * - Method decides which filter to apply based on what's provided
+     * 
+     * NO FILTERS: getDoctorDirectory
      */
     @GetMapping
-    public ResponseEntity<List<DoctorDTO>> getDoctors(
+    public ResponseEntity<?> getDoctors(
             @RequestParam(required = false) Long hospitalId,
             @RequestParam(required = false) String specialization) {
         
@@ -62,17 +79,34 @@ public class DoctorController {
         } else if (hospitalId != null) {
             // Only hospital filter
             doctors = doctorService.getDoctorsByHospital(hospitalId);
-        } else if (specialization != null) {
+        } else {
             // Only specialization filter
             doctors = doctorService.getDoctorsBySpecialization(specialization);
-        } else {
-            // No filters - return all
-            doctors = doctorService.getAllDoctors();
         }
         
         return ResponseEntity.ok(doctors);
     }
     
+    /**
+     * GET /api/doctors (no filters)
+     * All doctors, served from the precomputed DoctorDirectory snapshot
+     * - ETag header; If-None-Match with the same ETag -> 304, no body
+     * - Cache-Control no-cache: clients keep a copy but always revalidate
+     */
+    @GetMapping(params = { "!hospitalId", "!specialization" })
+    @ServedFromMemory
+    public ResponseEntity<?> getDoctorDirectory(WebRequest webRequest) {
+        DoctorDirectory.Snapshot directory = doctorDirectory.current();
+        if (webRequest.checkNotModified(directory.getEtag())) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(directory.getEtag())
+            .body(directory.getBody());
+    }
+    
     /**
      * GET /api/doctors/{id}
      * Get doctor by ID
@@ -89,6 +123,39 @@ public class DoctorController {
         }
     }
     
+    /**
+     * GET /api/doctors/{id}/availability?from=2026-10-17&to=2027-01-14
+     * Remaining positions per day - see DoctorAvailabilityDTO
+     * 
+     * USE CASE: Mark full / no-session days in the date picker with one request
+     * 
+     * Both dates optional (yyyy-MM-dd): from defaults to today, to to the end of
+     * the window (booking.availability.window-days). Served from memory.
+     * 
+     * 400: bad date or range, 404: unknown doctor
+     */
+    @GetMapping("/{id}/availability")
+    @ServedFromMemory
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            DoctorAvailabilityDTO availability = availabilityCalendar.getAvailability(id,
+                from != null ? LocalDate.parse(from) : null,
+                to != null ? LocalDate.parse(to) : null);
+            return ResponseEntity.ok(availability);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(e.getMessage());
+        }
+    }
+    
     /**
      * GET /api/doctors/specializations
      * Get list of all unique specializations
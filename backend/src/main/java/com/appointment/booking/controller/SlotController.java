@@ -1,16 +1,26 @@
 package com.appointment.booking.controller;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.appointment.booking.config.ServedFromMemory;
 import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.dto.SlotPageDTO;
+import com.appointment.booking.dto.SlotSearchRequest;
+import com.appointment.booking.service.EarliestSlotIndex;
+import com.appointment.booking.service.SlotAvailabilityBroadcaster;
 import com.appointment.booking.service.SlotService;
 
 /**
@@ -20,6 +30,8 @@ import com.appointment.booking.service.SlotService;
  * 
  * NEW FLOW:
  * - Users search by doctor name OR specialization + date
+ * - Or combine hospital / doctor / specialization over a date range (POST /search)
+ * - Or ask for the soonest openings of a specialization (GET /earliest)
  * - Returns slots with next available time
  * - Each slot holds 30 bookings (10 mins each)
  */
@@ -29,22 +41,43 @@ import com.appointment.booking.service.SlotService;
 public class SlotController {
     
     private final SlotService slotService;
+    private final SlotAvailabilityBroadcaster slotAvailabilityBroadcaster;
+    private final EarliestSlotIndex earliestSlotIndex;
     
-    public SlotController(SlotService slotService) {
+    public SlotController(SlotService slotService,
+                          SlotAvailabilityBroadcaster slotAvailabilityBroadcaster,
+                          EarliestSlotIndex earliestSlotIndex) {
         this.slotService = slotService;
+        this.slotAvailabilityBroadcaster = slotAvailabilityBroadcaster;
+        this.earliestSlotIndex = earliestSlotIndex;
     }
     
     /**
      * GET /api/slots
-     * Get all available slots (no filters)
+     * Get available slots from today onwards, one page at a time
      * 
-     * WARNING: Returns all available slots across all doctors
-     * Consider pagination for production
+     * QUERY PARAMETERS:
+     * - cursor: nextCursor from the previous page (omit for the first page)
+     * - size: page size (default 50, max 200)
+     * 
+     * EXAMPLES:
+     * GET /api/slots
+     * GET /api/slots?size=100&cursor=MjAyNi0xMC0xN3wwOTowMHwxMjM
+     * 
+     * RESPONSE: { "items": [...], "nextCursor": "..." }  (nextCursor is null on the last page)
      */
     @GetMapping
-    public ResponseEntity<List<SlotDTO>> getAllAvailableSlots() {
-        List<SlotDTO> slots = slotService.getAllAvailableSlots();
-        return ResponseEntity.ok(slots);
+    public ResponseEntity<?> getAllAvailableSlots(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            SlotPageDTO page = slotService.getAvailableSlots(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        }
     }
     
     /**
@@ -86,4 +119,110 @@ public class SlotController {
         
         return ResponseEntity.ok(slots);
     }
+    
+    /**
+     * NEW ENDPOINT: GET /api/slots/earliest
+     * The soonest openings for a specialization, across all its doctors
+     * 
+     * QUERY PARAMETERS:
+     * - specialization: e.g. Cardiology (required)
+     * - city: only hospitals in this city (optional)
+     * - hospitalId: only this hospital (optional)
+     * - limit: how many openings (default 5, max 20)
+     * 
+     * EXAMPLES:
+     * GET /api/slots/earliest?specialization=Cardiology
+     * GET /api/slots/earliest?specialization=Cardiology&city=Colombo&limit=3
+     * 
+     * RESPONSE: slots ordered by (slotDate, nextAvailableTime) - served from memory
+     * (EarliestSlotIndex), no date-by-date search
+     */
+    @GetMapping("/earliest")
+    @ServedFromMemory
+    public ResponseEntity<?> findEarliestSlots(
+            @RequestParam String specialization,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Long hospitalId,
+            @RequestParam(defaultValue = "5") int limit) {
+        if (specialization.isBlank()) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body("specialization is required");
+        }
+        List<SlotDTO> slots = earliestSlotIndex.findEarliest(specialization, city, hospitalId, limit);
+        return ResponseEntity.ok(slots);
+    }
+    
+    /**
+     * NEW ENDPOINT: POST /api/slots/search
+     * Multi-criteria search - every filter optional, combine freely, one page per call
+     * 
+     * REQUEST BODY (SlotSearchRequest):
+     * {
+     *   "hospitalId": 1,
+     *   "doctorId": 4,
+     *   "specialization": "Cardiology",
+     *   "date": "2024-02-05",              // or a range:
+     *   "fromDate": "2024-02-05",          //   default today
+     *   "toDate": "2024-02-11",            //   default fromDate + 6 days, max 31 days
+     *   "cursor": "...",                   // nextCursor of the previous page
+     *   "size": 50                         // default 50, max 200
+     * }
+     * 
+     * EXAMPLE: Cardiology at hospital 1 for the next week - one request instead of 7
+     * { "hospitalId": 1, "specialization": "Cardiology" }
+     * 
+     * RESPONSE: { "items": [...], "nextCursor": "..." }  (nextCursor is null on the last page)
+     */
+    @PostMapping("/search")
+    public ResponseEntity<?> searchSlots(@RequestBody SlotSearchRequest request) {
+        try {
+            SlotPageDTO page = slotService.search(request);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        }
+    }
+    
+    /**
+     * NEW ENDPOINT: GET /api/slots/stream
+     * Live capacity updates (Server-Sent Events) - replaces polling /api/slots/search
+     * 
+     * QUERY PARAMETERS (all optional, combine freely):
+     * - date: only slots on this date (yyyy-MM-dd)
+     * - specialization: only this specialization
+     * - doctorId: only this doctor
+     * 
+     * EXAMPLE:
+     * GET /api/slots/stream?date=2024-02-05&specialization=Cardiology
+     * 
+     * EVENTS (one per changed slot, bursts coalesced):
+     * event: capacity
+     * data: {"slotId":123,"doctorId":4,"slotDate":"2024-02-05","currentBookings":12,
+     *        "remainingSlots":18,"nextAvailableTime":"11:00","isAvailable":true}
+     * 
+     * FRONTEND USAGE: load the list once, then patch slots by slotId
+     * (subscribeToSlotAvailability in slots.api.ts)
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<?> streamAvailability(
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) Long doctorId) {
+        try {
+            LocalDate slotDate = date != null ? LocalDate.parse(date) : null;
+            SseEmitter emitter = slotAvailabilityBroadcaster.subscribe(slotDate, specialization, doctorId);
+            return ResponseEntity.ok(emitter);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body("Invalid date - expected yyyy-MM-dd");
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.appointment.booking.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.dto.WaitlistEntryDTO;
+import com.appointment.booking.service.WaitlistService;
+
+/**
+ * Waitlist Controller
+ * 
+ * BASE URL: /api/waitlist
+ * 
+ * FLOW:
+ * - POST /api/bookings answers "Slot is not available" -> POST the same body here
+ * - Poll GET /api/waitlist/{id} for the queue position
+ * - When someone cancels, the head of the queue is booked automatically
+ *   (status PROMOTED + bookingId)
+ */
+@RestController
+@RequestMapping("/api/waitlist")
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+    
+    private final WaitlistService waitlistService;
+    
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+    
+    /**
+     * POST /api/waitlist
+     * Join the waitlist of a full slot
+     * 
+     * REQUEST BODY: same as POST /api/bookings
+     * {
+     *   "slotId": 1,
+     *   "name": "John Doe",
+     *   "phoneNumber": "0771234567",
+     *   "nic": "123456789V",
+     *   "patientNotes": "First visit"  // optional - copied to the booking
+     * }
+     * 
+     * RESPONSE: 201 CREATED with the entry and its position
+     */
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@RequestBody BookingRequestDTO request) {
+        try {
+            WaitlistEntryDTO entry = waitlistService.join(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        }
+    }
+    
+    /**
+     * GET /api/waitlist/{id}
+     * Waitlist position (or the booking, once promoted)
+     * 
+     * QUERY PARAMS:
+     * - phoneNumber: For verification
+     * - nic: For verification
+     * 
+     * EXAMPLE:
+     * GET /api/waitlist/12?phoneNumber=0771234567&nic=123456789V
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getWaitlistEntry(
+            @PathVariable Long id,
+            @RequestParam String phoneNumber,
+            @RequestParam String nic) {
+        try {
+            WaitlistEntryDTO entry = waitlistService.getEntry(id, phoneNumber, nic);
+            return ResponseEntity.ok(entry);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(e.getMessage());
+        }
+    }
+    
+    /**
+     * DELETE /api/waitlist/{id}
+     * Leave the waitlist
+     * 
+     * QUERY PARAMS:
+     * - phoneNumber: For verification
+     * - nic: For verification
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> leaveWaitlist(
+            @PathVariable Long id,
+            @RequestParam String phoneNumber,
+            @RequestParam String nic) {
+        try {
+            WaitlistEntryDTO entry = waitlistService.leave(id, phoneNumber, nic);
+            return ResponseEntity.ok(entry);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        }
+    }
+}
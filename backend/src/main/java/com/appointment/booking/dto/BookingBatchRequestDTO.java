@@ -0,0 +1,33 @@
+package com.appointment.booking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booking Batch Request DTO
+ * 
+ * WHY: Call centres submit dozens of bookings at once
+ * USAGE: POST /api/bookings/batch
+ * 
+ * EXAMPLE JSON:
+ * {
+ *   "bookings": [
+ *     { "slotId": 1, "name": "John Doe", "phoneNumber": "0771234567", "nic": "123456789V" },
+ *     { "slotId": 7, "name": "Jane Doe", "phoneNumber": "0777654321", "nic": "987654321V" }
+ *   ]
+ * }
+ */
+public class BookingBatchRequestDTO {
+    private List<BookingRequestDTO> bookings = new ArrayList<>();
+    
+    // Constructors
+    public BookingBatchRequestDTO() {}
+    
+    public BookingBatchRequestDTO(List<BookingRequestDTO> bookings) {
+        this.bookings = bookings;
+    }
+    
+    // Getters and Setters
+    public List<BookingRequestDTO> getBookings() { return bookings; }
+    public void setBookings(List<BookingRequestDTO> bookings) { this.bookings = bookings; }
+}
@@ -0,0 +1,74 @@
+package com.appointment.booking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booking Batch Result DTO
+ * 
+ * WHY: A batch can partially succeed (e.g. one slot fills up mid-batch)
+ * CONTAINS: One result per request item, in the same order as submitted
+ */
+public class BookingBatchResultDTO {
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+    
+    public BookingBatchResultDTO() {}
+    
+    public BookingBatchResultDTO(List<ItemResult> results) {
+        this.results = results;
+        for (ItemResult result : results) {
+            if (result.getBooking() != null) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+    
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+    
+    /**
+     * Outcome of one request item
+     * EXAMPLE JSON:
+     * { "index": 3, "booking": null, "error": "Slot is not available" }
+     */
+    public static class ItemResult {
+        private int index;
+        private BookingDTO booking;
+        private String error;
+        
+        public ItemResult() {}
+        
+        public ItemResult(int index, BookingDTO booking, String error) {
+            this.index = index;
+            this.booking = booking;
+            this.error = error;
+        }
+        
+        public static ItemResult success(int index, BookingDTO booking) {
+            return new ItemResult(index, booking, null);
+        }
+        
+        public static ItemResult failure(int index, String error) {
+            return new ItemResult(index, null, error);
+        }
+        
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        
+        public BookingDTO getBooking() { return booking; }
+        public void setBooking(BookingDTO booking) { this.booking = booking; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
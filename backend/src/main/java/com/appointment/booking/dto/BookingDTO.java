@@ -1,11 +1,21 @@
 package com.appointment.booking.dto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.appointment.booking.dto.json.BookingDTOSerializer;
+import com.appointment.booking.entity.Booking.BookingStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 /**
  * Booking Data Transfer Object
  * 
  * WHY: Complete booking information for "My Appointments" page
  * CONTAINS: User info + Slot info + Doctor info + Hospital info
+ * JSON: written by BookingDTOSerializer (shared doctor / hospital fragments)
  */
+@JsonSerialize(using = BookingDTOSerializer.class)
 public class BookingDTO {
     private Long id;
     
@@ -52,6 +62,27 @@ public class BookingDTO {
         this.hospital = hospital;
     }
     
+    /**
+     * PROJECTION: Filled straight from a query row (BookingRepository.BOOKING_DTO_SELECT)
+     * WHY: Booking history lists never load Booking/Slot/Doctor/Hospital entities
+     * NOTE: Parameter order must match BOOKING_DTO_SELECT
+     */
+    public BookingDTO(Long id, LocalDateTime bookingTime, BookingStatus status, String patientNotes,
+                      Double amountPaid, LocalDate appointmentDate, LocalTime appointmentTime,
+                      Long doctorId, String doctorName, String specialization,
+                      Long hospitalId, String hospitalName, String hospitalAddress,
+                      String hospitalCity, String hospitalPhoneNumber) {
+        this(id,
+             bookingTime.format(DisplayFormats.DATETIME),
+             status.toString(),
+             patientNotes,
+             amountPaid,
+             DisplayFormats.date(appointmentDate),
+             DisplayFormats.time(appointmentTime),
+             new DoctorSummaryDTO(doctorId, doctorName, specialization),
+             new HospitalDTO(hospitalId, hospitalName, hospitalAddress, hospitalCity, hospitalPhoneNumber));
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
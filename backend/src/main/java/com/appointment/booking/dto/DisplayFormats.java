@@ -0,0 +1,63 @@
+package com.appointment.booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Date/time formats used in API responses
+ *
+ * WHY: DTOs are filled both by MappingService (from entities) and directly by
+ * projection queries (SlotDTO / BookingDTO constructors) - both must format the same way.
+ *
+ * SHARED STRINGS: date() / time() hand out one pre-formatted String per value instead
+ * of formatting a fresh one per row - a 200 slot page repeats the same handful of
+ * dates and times hundreds of times.
+ * - Times: all 1440 "HH:mm" values, built once
+ * - Dates: cached on first use, up to MAX_CACHED_DATES (then formatted as before)
+ */
+public final class DisplayFormats {
+
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+    public static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** A few years of slot dates - bounds the cache if old bookings are listed */
+    private static final int MAX_CACHED_DATES = 4096;
+
+    private static final String[] TIMES = new String[24 * 60];
+    private static final ConcurrentHashMap<LocalDate, String> DATES = new ConcurrentHashMap<>();
+
+    static {
+        for (int minute = 0; minute < TIMES.length; minute++) {
+            TIMES[minute] = LocalTime.of(minute / 60, minute % 60).format(TIME);
+        }
+    }
+
+    private DisplayFormats() {
+    }
+
+    /**
+     * Same as date.format(DATE), without a new String per call
+     */
+    public static String date(LocalDate date) {
+        String formatted = DATES.get(date);
+        if (formatted != null) {
+            return formatted;
+        }
+        formatted = date.format(DATE);
+        if (DATES.size() < MAX_CACHED_DATES) {
+            String existing = DATES.putIfAbsent(date, formatted);
+            return existing != null ? existing : formatted;
+        }
+        return formatted;
+    }
+
+    /**
+     * Same as time.format(TIME) - seconds are not shown, so the minute of the day is the key
+     */
+    public static String time(LocalTime time) {
+        return TIMES[time.getHour() * 60 + time.getMinute()];
+    }
+}
@@ -0,0 +1,45 @@
+package com.appointment.booking.dto;
+
+/**
+ * Doctor Availability DTO - a doctor's calendar for a date range
+ * 
+ * WHY: The date picker needs "can I book this day?" for every day it shows -
+ * one small array instead of one slot search per day.
+ * 
+ * remainingSlots[i] is the day from + i:
+ * - n > 0: n positions left
+ * - 0: fully booked
+ * - -1: no session scheduled that day
+ * 
+ * EXAMPLE:
+ * {"doctorId":4,"from":"2026-10-17","to":"2026-10-20","remainingSlots":[12,0,-1,30]}
+ */
+public class DoctorAvailabilityDTO {
+    private Long doctorId;
+    private String from;
+    private String to;
+    private int[] remainingSlots;
+    
+    // Constructors
+    public DoctorAvailabilityDTO() {}
+    
+    public DoctorAvailabilityDTO(Long doctorId, String from, String to, int[] remainingSlots) {
+        this.doctorId = doctorId;
+        this.from = from;
+        this.to = to;
+        this.remainingSlots = remainingSlots;
+    }
+    
+    // Getters and Setters
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+    
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+    
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+    
+    public int[] getRemainingSlots() { return remainingSlots; }
+    public void setRemainingSlots(int[] remainingSlots) { this.remainingSlots = remainingSlots; }
+}
@@ -0,0 +1,58 @@
+package com.appointment.booking.dto;
+
+/**
+ * Slot Capacity DTO - one live update on GET /api/slots/stream
+ * 
+ * WHY: The slot list only needs the numbers that change when someone books or
+ * cancels - the client patches the slot it already has by slotId.
+ * 
+ * EXAMPLE EVENT:
+ * event: capacity
+ * data: {"slotId":123,"doctorId":4,"slotDate":"2026-10-18","currentBookings":12,
+ *        "remainingSlots":18,"nextAvailableTime":"11:00","isAvailable":true}
+ */
+public class SlotCapacityDTO {
+    private Long slotId;
+    private Long doctorId;
+    private String slotDate;
+    private Integer currentBookings;
+    private Integer remainingSlots;
+    private String nextAvailableTime;
+    private Boolean isAvailable;
+    
+    // Constructors
+    public SlotCapacityDTO() {}
+    
+    public SlotCapacityDTO(Long slotId, Long doctorId, String slotDate, Integer currentBookings,
+                           Integer remainingSlots, String nextAvailableTime, Boolean isAvailable) {
+        this.slotId = slotId;
+        this.doctorId = doctorId;
+        this.slotDate = slotDate;
+        this.currentBookings = currentBookings;
+        this.remainingSlots = remainingSlots;
+        this.nextAvailableTime = nextAvailableTime;
+        this.isAvailable = isAvailable;
+    }
+    
+    // Getters and Setters
+    public Long getSlotId() { return slotId; }
+    public void setSlotId(Long slotId) { this.slotId = slotId; }
+    
+    public Long getDoctorId() { return doctorId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+    
+    public String getSlotDate() { return slotDate; }
+    public void setSlotDate(String slotDate) { this.slotDate = slotDate; }
+    
+    public Integer getCurrentBookings() { return currentBookings; }
+    public void setCurrentBookings(Integer currentBookings) { this.currentBookings = currentBookings; }
+    
+    public Integer getRemainingSlots() { return remainingSlots; }
+    public void setRemainingSlots(Integer remainingSlots) { this.remainingSlots = remainingSlots; }
+    
+    public String getNextAvailableTime() { return nextAvailableTime; }
+    public void setNextAvailableTime(String nextAvailableTime) { this.nextAvailableTime = nextAvailableTime; }
+    
+    public Boolean getIsAvailable() { return isAvailable; }
+    public void setIsAvailable(Boolean isAvailable) { this.isAvailable = isAvailable; }
+}
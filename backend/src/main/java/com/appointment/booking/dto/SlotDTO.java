@@ -1,5 +1,17 @@
 package com.appointment.booking.dto;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.appointment.booking.dto.json.SlotDTOSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Slot Data Transfer Object
+ *
+ * JSON: written by SlotDTOSerializer (shared doctor / hospital fragments)
+ */
+@JsonSerialize(using = SlotDTOSerializer.class)
 public class SlotDTO {
     private Long id;
     private String slotDate;
@@ -35,6 +47,33 @@ public class SlotDTO {
         this.hospital = hospital;
     }
     
+    /**
+     * PROJECTION: Filled straight from a query row (SlotRepository.SLOT_DTO_SELECT)
+     * WHY: Slot listings never load Slot/Doctor/Hospital entities - no persistence
+     * context entries, no dirty-check snapshots, just the columns the response shows.
+     * Derived times follow Slot.getNextAvailableTime() / getEstimatedEndTime().
+     * NOTE: Parameter order must match SLOT_DTO_SELECT
+     */
+    public SlotDTO(Long id, LocalDate slotDate, LocalTime consultationStartTime,
+                   Integer maxBookingsPerDay, Integer currentBookings, Integer minutesPerPatient,
+                   Boolean isAvailable,
+                   Long doctorId, String doctorName, String specialization,
+                   Long hospitalId, String hospitalName, String hospitalAddress,
+                   String hospitalCity, String hospitalPhoneNumber) {
+        this(id,
+             DisplayFormats.date(slotDate),
+             DisplayFormats.time(consultationStartTime),
+             DisplayFormats.time(consultationStartTime.plusMinutes((long) currentBookings * minutesPerPatient)),
+             DisplayFormats.time(consultationStartTime.plusMinutes((long) maxBookingsPerDay * minutesPerPatient)),
+             maxBookingsPerDay,
+             currentBookings,
+             maxBookingsPerDay - currentBookings,
+             minutesPerPatient,
+             isAvailable,
+             new DoctorSummaryDTO(doctorId, doctorName, specialization),
+             new HospitalDTO(hospitalId, hospitalName, hospitalAddress, hospitalCity, hospitalPhoneNumber));
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
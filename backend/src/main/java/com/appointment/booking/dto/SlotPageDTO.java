@@ -0,0 +1,37 @@
+package com.appointment.booking.dto;
+
+import java.util.List;
+
+/**
+ * One page of slots (keyset pagination)
+ * 
+ * WHY: GET /api/slots used to return every available slot in one response.
+ * Clients now walk the list page by page, so memory stays flat as slots grow.
+ * 
+ * EXAMPLE JSON:
+ * {
+ *   "items": [ { slot }, ... ],
+ *   "nextCursor": "MjAyNi0xMC0xN3wwOTowMHwxMjM"   // null on the last page
+ * }
+ */
+public class SlotPageDTO {
+    private List<SlotDTO> items;
+    
+    /**
+     * Opaque token - pass back as ?cursor= to get the next page
+     */
+    private String nextCursor;
+    
+    public SlotPageDTO() {}
+    
+    public SlotPageDTO(List<SlotDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<SlotDTO> getItems() { return items; }
+    public void setItems(List<SlotDTO> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -4,7 +4,8 @@ package com.appointment.booking.dto;
  * Slot Search Request DTO
  * 
  * WHY: Complex search with multiple optional filters
- * USAGE: GET /api/slots/search?hospitalId=1&specialization=Cardiology&date=2024-02-05
+ * USAGE: POST /api/slots/search
+ *        {"hospitalId":1,"specialization":"Cardiology","fromDate":"2024-02-05","toDate":"2024-02-11"}
  * 
  * BENEFIT: All filters in one clean object instead of many method parameters
  */
@@ -12,14 +13,19 @@ public class SlotSearchRequest {
     private Long hospitalId;           // Filter by hospital (optional)
     private Long doctorId;             // Filter by specific doctor (optional)
     private String specialization;     // Filter by specialization (optional)
-    private String date;               // Filter by date (required)
+    private String date;               // Single day (optional - shorthand for fromDate = toDate = date)
+    private String fromDate;           // Range start (optional - default today)
+    private String toDate;             // Range end (optional - default fromDate + 6 days)
+    private String cursor;             // nextCursor from the previous page (optional)
+    private Integer size;              // Page size (optional - default 50, max 200)
     
     /**
-     * WHY ALL OPTIONAL (except date): Users can search broadly or narrowly
+     * WHY ALL OPTIONAL: Users can search broadly or narrowly
      * EXAMPLES:
      * 1. "Show all slots on Feb 5" - only date provided
      * 2. "Show Cardiology slots on Feb 5" - date + specialization
      * 3. "Show Dr. Smith's slots on Feb 5" - date + doctorId
+     * 4. "Cardiology at Apollo this week" - hospitalId + specialization + fromDate/toDate
      */
     
     // Constructors
@@ -44,4 +50,16 @@ public class SlotSearchRequest {
     
     public String getDate() { return date; }
     public void setDate(String date) { this.date = date; }
+    
+    public String getFromDate() { return fromDate; }
+    public void setFromDate(String fromDate) { this.fromDate = fromDate; }
+    
+    public String getToDate() { return toDate; }
+    public void setToDate(String toDate) { this.toDate = toDate; }
+    
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
 }
\ No newline at end of file
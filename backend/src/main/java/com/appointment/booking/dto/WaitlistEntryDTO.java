@@ -0,0 +1,69 @@
+package com.appointment.booking.dto;
+
+/**
+ * Waitlist Entry DTO
+ *
+ * WHY: What a queued patient needs to see - where they are in the queue,
+ * and the booking once they have been promoted
+ * USAGE: POST /api/waitlist, GET /api/waitlist/{id}, DELETE /api/waitlist/{id}
+ *
+ * EXAMPLE JSON:
+ * {
+ *   "id": 12,
+ *   "status": "WAITING",
+ *   "position": 3,              // null unless WAITING
+ *   "bookingId": null,          // set once PROMOTED
+ *   "joinedAt": "2026-10-17 08:15:02",
+ *   "slotId": 123,
+ *   "appointmentDate": "2026-10-18",
+ *   "doctorName": "Dr. Anil Fernando",
+ *   "specialization": "Cardiology",
+ *   "hospitalName": "Apollo Hospital"
+ * }
+ */
+public class WaitlistEntryDTO {
+    private Long id;
+    private String status;
+    private Integer position;
+    private Long bookingId;
+    private String joinedAt;
+    private Long slotId;
+    private String appointmentDate;
+    private String doctorName;
+    private String specialization;
+    private String hospitalName;
+
+    // Constructors
+    public WaitlistEntryDTO() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getPosition() { return position; }
+    public void setPosition(Integer position) { this.position = position; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public String getJoinedAt() { return joinedAt; }
+    public void setJoinedAt(String joinedAt) { this.joinedAt = joinedAt; }
+
+    public Long getSlotId() { return slotId; }
+    public void setSlotId(Long slotId) { this.slotId = slotId; }
+
+    public String getAppointmentDate() { return appointmentDate; }
+    public void setAppointmentDate(String appointmentDate) { this.appointmentDate = appointmentDate; }
+
+    public String getDoctorName() { return doctorName; }
+    public void setDoctorName(String doctorName) { this.doctorName = doctorName; }
+
+    public String getSpecialization() { return specialization; }
+    public void setSpecialization(String specialization) { this.specialization = specialization; }
+
+    public String getHospitalName() { return hospitalName; }
+    public void setHospitalName(String hospitalName) { this.hospitalName = hospitalName; }
+}
@@ -0,0 +1,35 @@
+package com.appointment.booking.dto.admin;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.appointment.booking.entity.Booking.BookingStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One flat row of the admin bookings export (NDJSON / CSV)
+ * Built directly by the query (constructor expression) - no entities are loaded.
+ * NOTE: Field order must match BookingRepository.streamForExport*
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingExportDTO {
+    private Long id;
+    private LocalDateTime bookingTime;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private BookingStatus status;
+    private String patientName;
+    private String phoneNumber;
+    private String nic;
+    private String doctorName;
+    private String specialization;
+    private String hospitalName;
+    private Double amountPaid;
+    private String patientNotes;
+}
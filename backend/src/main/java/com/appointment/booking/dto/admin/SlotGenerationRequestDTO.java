@@ -2,12 +2,14 @@ package com.appointment.booking.dto.admin;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 import lombok.Data;
 
 @Data
 public class SlotGenerationRequestDTO {
     private Long doctorId;
+    private List<Long> doctorIds;           // Many doctors in one request (combined with doctorId)
     private LocalDate startDate;
     private LocalDate endDate;
     private LocalTime consultationStartTime; // e.g., 09:00
@@ -0,0 +1,47 @@
+package com.appointment.booking.dto.json;
+
+import java.io.IOException;
+
+import com.appointment.booking.dto.BookingDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * BookingDTO -> JSON, written field by field (booking history, batch results, idempotent replies)
+ *
+ * NOTE: Same JSON as the default bean serializer (field order, nulls) -
+ * a new BookingDTO field must be added here too.
+ */
+public class BookingDTOSerializer extends StdSerializer<BookingDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString BOOKING_TIME = new SerializedString("bookingTime");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString PATIENT_NOTES = new SerializedString("patientNotes");
+    private static final SerializedString AMOUNT_PAID = new SerializedString("amountPaid");
+    private static final SerializedString APPOINTMENT_DATE = new SerializedString("appointmentDate");
+    private static final SerializedString APPOINTMENT_TIME = new SerializedString("appointmentTime");
+    private static final SerializedString DOCTOR = new SerializedString("doctor");
+    private static final SerializedString HOSPITAL = new SerializedString("hospital");
+
+    public BookingDTOSerializer() {
+        super(BookingDTO.class);
+    }
+
+    @Override
+    public void serialize(BookingDTO booking, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(booking);
+        JsonFragments.writeNumber(gen, ID, booking.getId());
+        JsonFragments.writeString(gen, BOOKING_TIME, booking.getBookingTime());
+        JsonFragments.writeString(gen, STATUS, booking.getStatus());
+        JsonFragments.writeString(gen, PATIENT_NOTES, booking.getPatientNotes());
+        JsonFragments.writeNumber(gen, AMOUNT_PAID, booking.getAmountPaid());
+        JsonFragments.writeString(gen, APPOINTMENT_DATE, booking.getAppointmentDate());
+        JsonFragments.writeString(gen, APPOINTMENT_TIME, booking.getAppointmentTime());
+        JsonFragments.writeDoctor(gen, DOCTOR, booking.getDoctor());
+        JsonFragments.writeHospital(gen, HOSPITAL, booking.getHospital());
+        gen.writeEndObject();
+    }
+}
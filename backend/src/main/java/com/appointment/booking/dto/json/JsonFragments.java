@@ -0,0 +1,185 @@
+package com.appointment.booking.dto.json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Objects;
+
+import com.appointment.booking.dto.DoctorSummaryDTO;
+import com.appointment.booking.dto.HospitalDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Pre-serialized doctor / hospital JSON, shared by every slot and booking that embeds them
+ *
+ * WHY: A page of 50 slots usually names a handful of doctors and one or two hospitals,
+ * yet each slot re-escaped and re-encoded the same nested objects. Now each doctor /
+ * hospital is serialized once and its UTF-8 bytes are copied into every response.
+ *
+ * STALENESS: A fragment remembers the values it was built from and is only reused while
+ * the DTO still has them - an admin edit rebuilds it on the next write, no eviction needed.
+ * BOUNDS: MAX_FRAGMENTS per type (Caffeine, size based)
+ *
+ * Also holds the null-aware field writers shared by the serializers in this package.
+ */
+final class JsonFragments {
+
+    private static final int MAX_FRAGMENTS = 10_000;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString SPECIALIZATION = new SerializedString("specialization");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString CITY = new SerializedString("city");
+    private static final SerializedString PHONE_NUMBER = new SerializedString("phoneNumber");
+
+    private record DoctorFragment(String name, String specialization, SerializedString json) {
+        boolean matches(DoctorSummaryDTO doctor) {
+            return Objects.equals(name, doctor.getName())
+                    && Objects.equals(specialization, doctor.getSpecialization());
+        }
+    }
+
+    private record HospitalFragment(String name, String address, String city, String phoneNumber,
+            SerializedString json) {
+        boolean matches(HospitalDTO hospital) {
+            return Objects.equals(name, hospital.getName())
+                    && Objects.equals(address, hospital.getAddress())
+                    && Objects.equals(city, hospital.getCity())
+                    && Objects.equals(phoneNumber, hospital.getPhoneNumber());
+        }
+    }
+
+    private static final Cache<Long, DoctorFragment> DOCTORS = Caffeine.newBuilder()
+            .maximumSize(MAX_FRAGMENTS)
+            .build();
+    private static final Cache<Long, HospitalFragment> HOSPITALS = Caffeine.newBuilder()
+            .maximumSize(MAX_FRAGMENTS)
+            .build();
+
+    private JsonFragments() {
+    }
+
+    static void writeDoctor(JsonGenerator gen, SerializableString field, DoctorSummaryDTO doctor)
+            throws IOException {
+        gen.writeFieldName(field);
+        if (doctor == null) {
+            gen.writeNull();
+            return;
+        }
+        if (doctor.getId() == null) {
+            writeDoctorObject(gen, doctor);
+            return;
+        }
+        DoctorFragment fragment = DOCTORS.getIfPresent(doctor.getId());
+        if (fragment == null || !fragment.matches(doctor)) {
+            fragment = new DoctorFragment(doctor.getName(), doctor.getSpecialization(),
+                    render(generator -> writeDoctorObject(generator, doctor)));
+            DOCTORS.put(doctor.getId(), fragment);
+        }
+        gen.writeRawValue(fragment.json());
+    }
+
+    static void writeHospital(JsonGenerator gen, SerializableString field, HospitalDTO hospital)
+            throws IOException {
+        gen.writeFieldName(field);
+        if (hospital == null) {
+            gen.writeNull();
+            return;
+        }
+        if (hospital.getId() == null) {
+            writeHospitalObject(gen, hospital);
+            return;
+        }
+        HospitalFragment fragment = HOSPITALS.getIfPresent(hospital.getId());
+        if (fragment == null || !fragment.matches(hospital)) {
+            fragment = new HospitalFragment(hospital.getName(), hospital.getAddress(), hospital.getCity(),
+                    hospital.getPhoneNumber(), render(generator -> writeHospitalObject(generator, hospital)));
+            HOSPITALS.put(hospital.getId(), fragment);
+        }
+        gen.writeRawValue(fragment.json());
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString field, String value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString field, Long value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString field, Integer value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString field, Double value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    static void writeBoolean(JsonGenerator gen, SerializableString field, Boolean value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private interface ObjectWriter {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
+    private static SerializedString render(ObjectWriter writer) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(json)) {
+            writer.write(gen);
+        }
+        return new SerializedString(json.toString());
+    }
+
+    private static void writeDoctorObject(JsonGenerator gen, DoctorSummaryDTO doctor) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, doctor.getId());
+        writeString(gen, NAME, doctor.getName());
+        writeString(gen, SPECIALIZATION, doctor.getSpecialization());
+        gen.writeEndObject();
+    }
+
+    private static void writeHospitalObject(JsonGenerator gen, HospitalDTO hospital) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, hospital.getId());
+        writeString(gen, NAME, hospital.getName());
+        writeString(gen, ADDRESS, hospital.getAddress());
+        writeString(gen, CITY, hospital.getCity());
+        writeString(gen, PHONE_NUMBER, hospital.getPhoneNumber());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,57 @@
+package com.appointment.booking.dto.json;
+
+import java.io.IOException;
+
+import com.appointment.booking.dto.SlotDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * SlotDTO -> JSON, written field by field straight to the response stream
+ *
+ * WHY: Slot pages are the largest, most frequent responses (up to 200 slots each).
+ * Field names are pre-encoded, doctor / hospital come from JsonFragments -
+ * no reflection, no per-slot nested serialization.
+ *
+ * NOTE: Same JSON as the default bean serializer (field order, nulls) -
+ * a new SlotDTO field must be added here too.
+ */
+public class SlotDTOSerializer extends StdSerializer<SlotDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString SLOT_DATE = new SerializedString("slotDate");
+    private static final SerializedString CONSULTATION_START_TIME = new SerializedString("consultationStartTime");
+    private static final SerializedString NEXT_AVAILABLE_TIME = new SerializedString("nextAvailableTime");
+    private static final SerializedString ESTIMATED_END_TIME = new SerializedString("estimatedEndTime");
+    private static final SerializedString MAX_BOOKINGS_PER_DAY = new SerializedString("maxBookingsPerDay");
+    private static final SerializedString CURRENT_BOOKINGS = new SerializedString("currentBookings");
+    private static final SerializedString REMAINING_SLOTS = new SerializedString("remainingSlots");
+    private static final SerializedString MINUTES_PER_PATIENT = new SerializedString("minutesPerPatient");
+    private static final SerializedString IS_AVAILABLE = new SerializedString("isAvailable");
+    private static final SerializedString DOCTOR = new SerializedString("doctor");
+    private static final SerializedString HOSPITAL = new SerializedString("hospital");
+
+    public SlotDTOSerializer() {
+        super(SlotDTO.class);
+    }
+
+    @Override
+    public void serialize(SlotDTO slot, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(slot);
+        JsonFragments.writeNumber(gen, ID, slot.getId());
+        JsonFragments.writeString(gen, SLOT_DATE, slot.getSlotDate());
+        JsonFragments.writeString(gen, CONSULTATION_START_TIME, slot.getConsultationStartTime());
+        JsonFragments.writeString(gen, NEXT_AVAILABLE_TIME, slot.getNextAvailableTime());
+        JsonFragments.writeString(gen, ESTIMATED_END_TIME, slot.getEstimatedEndTime());
+        JsonFragments.writeNumber(gen, MAX_BOOKINGS_PER_DAY, slot.getMaxBookingsPerDay());
+        JsonFragments.writeNumber(gen, CURRENT_BOOKINGS, slot.getCurrentBookings());
+        JsonFragments.writeNumber(gen, REMAINING_SLOTS, slot.getRemainingSlots());
+        JsonFragments.writeNumber(gen, MINUTES_PER_PATIENT, slot.getMinutesPerPatient());
+        JsonFragments.writeBoolean(gen, IS_AVAILABLE, slot.getIsAvailable());
+        JsonFragments.writeDoctor(gen, DOCTOR, slot.getDoctor());
+        JsonFragments.writeHospital(gen, HOSPITAL, slot.getHospital());
+        gen.writeEndObject();
+    }
+}
@@ -13,21 +13,48 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 
+/**
+ * FETCHING: user and slot are LAZY (EAGER cost up to 3 extra selects per booking in a list).
+ * Each query fetches what its consumer reads:
+ * - WITH_SLOT: MappingService.toBookingDTO (slot -> doctor -> hospital)
+ * - WITH_USER_AND_SLOT: admin list (serialized as entities) and cancellation (ownership check)
+ */
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_SLOT,
+        attributeNodes = @NamedAttributeNode(value = "slot", subgraph = "slot"),
+        subgraphs = {
+                @NamedSubgraph(name = "slot", attributeNodes = @NamedAttributeNode(value = "doctor", subgraph = "doctor")),
+                @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("hospital"))
+        })
+@NamedEntityGraph(name = Booking.WITH_USER_AND_SLOT,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "slot", subgraph = "slot")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "slot", attributeNodes = @NamedAttributeNode(value = "doctor", subgraph = "doctor")),
+                @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("hospital"))
+        })
 public class Booking {
+
+    public static final String WITH_SLOT = "Booking.withSlot";
+    public static final String WITH_USER_AND_SLOT = "Booking.withUserAndSlot";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "slot_id", nullable = false)
     private Slot slot;
     
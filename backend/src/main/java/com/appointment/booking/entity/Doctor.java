@@ -3,9 +3,14 @@ package com.appointment.booking.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.appointment.booking.config.CacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -14,6 +19,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
@@ -24,11 +31,23 @@ import jakarta.persistence.Table;
  * RELATIONSHIPS:
  * - Many doctors belong to one hospital (ManyToOne)
  * - One doctor has many slots (OneToMany)
+ *
+ * FETCHING: hospital is LAZY - queries that need it use the WITH_HOSPITAL graph
+ * hibernateLazyInitializer/handler: proxy internals, never serialized
+ * CACHED: second-level cache (CacheConfig.DOCTOR_REGION) - lazy doctor loads from
+ * slots and bookings are answered from memory. READ_WRITE: consistent on admin updates.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.DOCTOR_REGION)
 @Table(name = "doctors")
+@NamedEntityGraph(name = Doctor.WITH_HOSPITAL, attributeNodes = @NamedAttributeNode("hospital"))
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Doctor {
 
+    /** Doctor + hospital in one select (DoctorDTO, DoctorAdminDTO, directory) */
+    public static final String WITH_HOSPITAL = "Doctor.withHospital";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,11 +66,12 @@ public class Doctor {
 
     /**
      * WHY ManyToOne: Many doctors work at one hospital
-     * EAGER: Always load hospital info when loading a doctor (we usually need it)
+     * LAZY: EAGER loaded the hospital with a second select per doctor in every
+     * list query - repositories fetch it with WITH_HOSPITAL where it is needed
      * JoinColumn: Creates 'hospital_id' foreign key column in doctors table
      */
     @JsonIgnoreProperties({ "doctors", "phoneNumber" }) // ← ADD THIS
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hospital_id", nullable = false)
     private Hospital hospital;
 
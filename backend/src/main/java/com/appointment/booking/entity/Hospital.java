@@ -3,8 +3,14 @@ package com.appointment.booking.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.appointment.booking.config.CacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -19,9 +25,14 @@ import jakarta.persistence.Table;
  * 
  * WHY: Represents a hospital in the system
  * RELATIONSHIPS: One hospital can have many doctors
+ * CACHED: second-level cache (CacheConfig.HOSPITAL_REGION) - read on almost every
+ * request, written only by admins. READ_WRITE keeps the cache consistent on updates.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.HOSPITAL_REGION)
 @Table(name = "hospitals")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" }) // lazy proxy internals
 public class Hospital {
 
     @Id
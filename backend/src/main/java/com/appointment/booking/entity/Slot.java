@@ -3,6 +3,8 @@ package com.appointment.booking.entity;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
@@ -13,8 +15,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 /**
  * Updated Slot Entity - NEW LOGIC
@@ -24,13 +31,29 @@ import jakarta.persistence.UniqueConstraint;
  * - 30 bookings capacity per day
  * - 10 minutes per patient
  * - Auto-calculates next available time
+ *
+ * FETCHING: doctor is LAZY - queries that map to SlotDTO use the WITH_DOCTOR graph
  */
 @Entity
 @Table(name = "slots", uniqueConstraints = @UniqueConstraint(columnNames = { "doctor_id", "slot_date" }))
+@NamedEntityGraph(name = Slot.WITH_DOCTOR,
+        attributeNodes = @NamedAttributeNode(value = "doctor", subgraph = "doctor"),
+        subgraphs = @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("hospital")))
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Slot {
 
+    /** Slot + doctor + hospital in one select (SlotDTO, admin slot list, bookings) */
+    public static final String WITH_DOCTOR = "Slot.withDoctor";
+
+    /**
+     * Sequence with a pooled optimizer: one nextval hands out 50 ids
+     * WHY: IDENTITY ids force one INSERT per round trip - slot generation inserts
+     * hundreds of rows and needs JDBC batching (hibernate.jdbc.batch_size)
+     * slots_id_seq: the sequence that already backed the IDENTITY column
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "slots_id_seq")
+    @SequenceGenerator(name = "slots_id_seq", sequenceName = "slots_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -66,8 +89,19 @@ public class Slot {
     @Column(nullable = false)
     private Boolean isAvailable = true;
 
+    /**
+     * Optimistic lock version
+     * WHY: bookSlot()/cancelSlot() are read-modify-write on currentBookings.
+     * Two transactions that read the same version cannot both commit - the loser is retried.
+     * ColumnDefault: existing rows get 0 when the column is added
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @JsonIgnoreProperties({ "slots", "qualifications", "experienceYears", "consultationFee" })
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
 
@@ -94,6 +128,15 @@ public class Slot {
         return consultationStartTime.plusMinutes((long) currentBookings * minutesPerPatient);
     }
 
+    /**
+     * Appointment time for a 1-based queue position
+     * Formula: startTime + ((position - 1) * minutesPerPatient)
+     * Example: position 1 -> 09:00, position 2 -> 09:10
+     */
+    public LocalTime getAppointmentTime(int position) {
+        return consultationStartTime.plusMinutes((long) (position - 1) * minutesPerPatient);
+    }
+
     /**
      * Calculate estimated end time for the day
      */
@@ -187,6 +230,14 @@ public class Slot {
         this.isAvailable = isAvailable;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Doctor getDoctor() {
         return doctor;
     }
@@ -2,37 +2,80 @@ package com.appointment.booking.repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.appointment.booking.dto.BookingDTO;
+import com.appointment.booking.dto.admin.BookingExportDTO;
 import com.appointment.booking.entity.Booking;
 import com.appointment.booking.entity.Booking.BookingStatus;
 import com.appointment.booking.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Booking Repository
  * 
  * FOCUSED: User's booking history and status tracking
+ * 
+ * FETCHING: Booking associations are LAZY. Every query that returns bookings
+ * fetches what its consumer reads with an entity graph, so a list is ONE select
+ * (was 1 + up to 3 per booking with EAGER).
+ * READ PATHS ("My Appointments"): BookingDTO projections - see BOOKING_DTO_SELECT
  */
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * Admin list - serialized as entities, needs the whole graph
+     */
+    @Override
+    @EntityGraph(Booking.WITH_USER_AND_SLOT)
+    List<Booking> findAll();
+
+    /**
+     * Single booking with user (ownership check on cancel) and slot details (BookingDTO)
+     */
+    @Override
+    @EntityGraph(Booking.WITH_USER_AND_SLOT)
+    Optional<Booking> findById(Long id);
+
+    /**
+     * "My Appointments" projection (see BookingDTO projection constructor)
+     * Rows are read straight into DTOs - no entities are loaded or tracked
+     */
+    String BOOKING_DTO_SELECT = "SELECT new com.appointment.booking.dto.BookingDTO(" +
+            "b.id, b.bookingTime, b.status, b.patientNotes, b.amountPaid, " +
+            "s.slotDate, b.appointmentTime, " +
+            "d.id, d.name, d.specialization, " +
+            "h.id, h.name, h.address, h.city, h.phoneNumber) " +
+            "FROM Booking b JOIN b.slot s JOIN s.doctor d JOIN d.hospital h ";
+
     /**
      * Find all bookings for a user
      * 
      * WHY: "My Appointments" page
      * ORDER BY: Most recent bookings first
      */
-    List<Booking> findByUserOrderByBookingTimeDesc(User user);
+    @Query(BOOKING_DTO_SELECT +
+            "WHERE b.user.id = :userId " +
+            "ORDER BY b.bookingTime DESC")
+    List<BookingDTO> findBookingsByUser(@Param("userId") Long userId);
 
     /**
      * Find bookings by user and status
      * 
      * WHY: Filter "Show only my confirmed appointments" or "Cancelled history"
      */
+    @EntityGraph(Booking.WITH_SLOT)
     List<Booking> findByUserAndStatus(User user, BookingStatus status);
 
     /**
@@ -48,12 +91,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * Booking -> Slot (to get slotDate)
      * Sort by soonest date first
      */
-    @Query("SELECT b FROM Booking b JOIN b.slot s " +
+    @Query(BOOKING_DTO_SELECT +
             "WHERE b.user.id = :userId " +
             "AND b.status = 'CONFIRMED' " +
             "AND s.slotDate >= :today " +
             "ORDER BY s.slotDate, s.consultationStartTime")
-    List<Booking> findUpcomingBookingsByUser(
+    List<BookingDTO> findUpcomingBookingsByUser(
             @Param("userId") Long userId,
             @Param("today") LocalDate today);
 
@@ -63,11 +106,11 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * WHY: "Show my appointment history"
      * DIFFERENCE: slotDate < :today (in the past)
      */
-    @Query("SELECT b FROM Booking b JOIN b.slot s " +
+    @Query(BOOKING_DTO_SELECT +
             "WHERE b.user.id = :userId " +
             "AND s.slotDate < :today " +
             "ORDER BY s.slotDate DESC, s.consultationStartTime DESC")
-    List<Booking> findPastBookingsByUser(
+    List<BookingDTO> findPastBookingsByUser(
             @Param("userId") Long userId,
             @Param("today") LocalDate today);
 
@@ -81,7 +124,48 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "WHERE b.slot.id = :slotId AND b.status = 'CONFIRMED'")
     Long countConfirmedBookingsBySlot(@Param("slotId") Long slotId);
 
-    List<Booking> findByStatus(String status);
+    /**
+     * Does the patient already hold a confirmed booking on this slot?
+     * 
+     * WHY: No point queueing for a slot you're already booked on (waitlist join)
+     * Served by idx_bookings_user_status
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.user.id = :userId AND b.slot.id = :slotId AND b.status = 'CONFIRMED'")
+    boolean existsConfirmedBooking(@Param("userId") Long userId, @Param("slotId") Long slotId);
+
+    @EntityGraph(Booking.WITH_USER_AND_SLOT)
+    List<Booking> findByStatus(BookingStatus status);
+
+    long countByStatus(BookingStatus status);
+
+    /**
+     * Admin export projection (see BookingExportDTO)
+     */
+    String EXPORT_SELECT = "SELECT new com.appointment.booking.dto.admin.BookingExportDTO(" +
+            "b.id, b.bookingTime, s.slotDate, b.appointmentTime, b.status, " +
+            "u.name, u.phoneNumber, u.nic, d.name, d.specialization, h.name, " +
+            "b.amountPaid, b.patientNotes) " +
+            "FROM Booking b JOIN b.user u JOIN b.slot s JOIN s.doctor d LEFT JOIN d.hospital h ";
 
-    long countByStatus(String status);
+    /**
+     * Admin export: every booking as a flat row, streamed
+     * 
+     * WHY: A month-end export can be hundreds of thousands of rows.
+     * - Constructor expression: rows never enter the persistence context
+     * - Fetch size: the driver pulls rows in chunks (PostgreSQL only honours it
+     *   inside a transaction - the caller must be @Transactional)
+     * - ORDER BY id: stable, index-backed order
+     * CALLER MUST CLOSE the stream (try-with-resources)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(EXPORT_SELECT + "ORDER BY b.id")
+    Stream<BookingExportDTO> streamForExport();
+
+    /**
+     * Admin export filtered by status - the filter runs in the database
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(EXPORT_SELECT + "WHERE b.status = :status ORDER BY b.id")
+    Stream<BookingExportDTO> streamForExportByStatus(@Param("status") BookingStatus status);
 }
\ No newline at end of file
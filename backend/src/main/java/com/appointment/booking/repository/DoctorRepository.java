@@ -1,21 +1,45 @@
 package com.appointment.booking.repository;
 
+import com.appointment.booking.config.CacheConfig;
 import com.appointment.booking.entity.Doctor;
 import com.appointment.booking.entity.Hospital;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Doctor Repository
  * 
  * COMPLEX QUERIES: When method names get too long, use @Query
+ * 
+ * FETCHING: Doctor.hospital is LAZY. Doctor lists are mapped to DoctorDTO
+ * (which includes the hospital), so they use the Doctor.WITH_HOSPITAL graph:
+ * ONE select with a join instead of one extra select per hospital.
  */
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+
+    @Override
+    @EntityGraph(Doctor.WITH_HOSPITAL)
+    List<Doctor> findAll();
+
+    @Override
+    @EntityGraph(Doctor.WITH_HOSPITAL)
+    List<Doctor> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(Doctor.WITH_HOSPITAL)
+    Optional<Doctor> findById(Long id);
     
     /**
      * METHOD NAME QUERY: Find doctors by hospital
@@ -23,6 +47,7 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      * WHY: Users want to see "Which doctors work at this hospital?"
      * Generated SQL: SELECT * FROM doctors WHERE hospital_id = ?
      */
+    @EntityGraph(Doctor.WITH_HOSPITAL)
     List<Doctor> findByHospital(Hospital hospital);
     
     /**
@@ -31,6 +56,7 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      * WHY: Users search "I need a Cardiologist"
      * IgnoreCase: "cardiology" matches "Cardiology"
      */
+    @EntityGraph(Doctor.WITH_HOSPITAL)
     List<Doctor> findBySpecializationIgnoreCase(String specialization);
     
     /**
@@ -41,6 +67,7 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      * Generated SQL: SELECT * FROM doctors 
      *                WHERE hospital_id = ? AND LOWER(specialization) = LOWER(?)
      */
+    @EntityGraph(Doctor.WITH_HOSPITAL)
     List<Doctor> findByHospitalAndSpecializationIgnoreCase(Hospital hospital, String specialization);
     
     /**
@@ -57,6 +84,7 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      * 
      * @Param: Links method parameter to query placeholder
      */
+    @EntityGraph(Doctor.WITH_HOSPITAL)
     @Query("SELECT d FROM Doctor d WHERE d.hospital.id = :hospitalId")
     List<Doctor> findByHospitalId(@Param("hospitalId") Long hospitalId);
     
@@ -66,7 +94,31 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      * WHY: For building a filter dropdown in UI
      * DISTINCT: Removes duplicates (many doctors share same specialization)
      * Returns: ["Cardiology", "Dermatology", "Pediatrics", ...]
+     * QUERY CACHE: Hibernate drops the cached result whenever the doctors table changes
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.SPECIALIZATIONS_QUERY_REGION)
+    })
     @Query("SELECT DISTINCT d.specialization FROM Doctor d ORDER BY d.specialization")
     List<String> findAllSpecializations();
-}
\ No newline at end of file
+
+    /**
+     * Id + name of every doctor - feeds the in-memory DoctorNameIndex
+     * WHY projection: the index needs names only, not hospitals
+     */
+    @Query("SELECT d.id AS id, d.name AS name FROM Doctor d")
+    List<DoctorName> findAllNames();
+
+    @Query("SELECT d.id AS id, d.name AS name FROM Doctor d WHERE d.id IN :ids")
+    List<DoctorName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Result of findAllNames / findNamesByIdIn
+     */
+    interface DoctorName {
+        Long getId();
+
+        String getName();
+    }
+}
@@ -3,11 +3,16 @@ package com.appointment.booking.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.appointment.booking.config.CacheConfig;
 import com.appointment.booking.entity.Hospital;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Hospital Repository
  * 
@@ -35,7 +40,14 @@ public interface HospitalRepository extends JpaRepository<Hospital, Long> {
      * 
      * EXAMPLE USAGE: 
      * List<Hospital> hospitals = hospitalRepository.findByCity("Colombo");
+     * 
+     * QUERY CACHE: ids per city are cached, the hospitals themselves come from
+     * the Hospital entity region - both are kept in sync by Hibernate on writes
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.HOSPITALS_BY_CITY_QUERY_REGION)
+    })
     List<Hospital> findByCity(String city);
     
     /**
@@ -1,60 +1,276 @@
 package com.appointment.booking.repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.appointment.booking.dto.SlotDTO;
 import com.appointment.booking.entity.Doctor;
 import com.appointment.booking.entity.Slot;
 
+import jakarta.persistence.LockModeType;
+
+/**
+ * FETCHING: Slot.doctor is LAZY. Admin lists fetch doctor + hospital with
+ * Slot.WITH_DOCTOR. findById / findAllById (bookings) load the slot row only -
+ * doctor and hospital come from the second-level cache (see CacheConfig).
+ * Queries for ids, dates or counts don't touch the doctor at all.
+ *
+ * READ PATHS (listing, search): SlotDTO projections - see SLOT_DTO_SELECT
+ * Multi-criteria search: SlotSearchRepository (dynamic JPQL)
+ */
 @Repository
-public interface SlotRepository extends JpaRepository<Slot, Long> {
+public interface SlotRepository extends JpaRepository<Slot, Long>, SlotSearchRepository {
+
+        @Override
+        @EntityGraph(Slot.WITH_DOCTOR)
+        List<Slot> findAll();
+
+        /**
+         * Slot row locked until the end of the transaction (SELECT ... FOR UPDATE)
+         *
+         * WHY: Serializes the waitlist with cancellations - joining checks "slot full"
+         * and inserts its entry under this lock, promoteNext takes it before looking
+         * for a waiting entry. Either the cancel sees the new entry, or the join sees
+         * the freed position.
+         * NOTE: must run inside a read-write transaction
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT s FROM Slot s WHERE s.id = :id")
+        Optional<Slot> findByIdForUpdate(@Param("id") Long id);
 
         /**
          * Find slot for a doctor on a specific date
          * NEW: One slot per doctor per day (holds all 30 bookings)
          */
+        @EntityGraph(Slot.WITH_DOCTOR)
         Optional<Slot> findByDoctorAndSlotDate(Doctor doctor, LocalDate slotDate);
 
         /**
          * Find available slots by date across all doctors
          */
+        @EntityGraph(Slot.WITH_DOCTOR)
         List<Slot> findBySlotDateAndIsAvailableTrueOrderByConsultationStartTime(LocalDate slotDate);
 
         /**
-         * Search by doctor name and date
+         * Slot listing/search projection (see SlotDTO projection constructor)
+         * Rows are read straight into DTOs - no entities, nothing for the
+         * persistence context to track. Callers run in read-only transactions.
+         */
+        String SLOT_DTO = "new com.appointment.booking.dto.SlotDTO(" +
+                        "s.id, s.slotDate, s.consultationStartTime, " +
+                        "s.maxBookingsPerDay, s.currentBookings, s.minutesPerPatient, s.isAvailable, " +
+                        "d.id, d.name, d.specialization, " +
+                        "h.id, h.name, h.address, h.city, h.phoneNumber) ";
+        String SLOT_DTO_FROM = "FROM Slot s JOIN s.doctor d JOIN d.hospital h ";
+        String SLOT_DTO_SELECT = "SELECT " + SLOT_DTO + SLOT_DTO_FROM;
+
+        /**
+         * Available slots of the given doctors on a date
+         * WHY: Doctor names are matched in memory (DoctorNameIndex) - this is then
+         * an index lookup on (doctor_id, slot_date) instead of LIKE '%name%' over every doctor
          */
-        @Query("SELECT s FROM Slot s JOIN s.doctor d " +
-                        "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) " +
+        @Query(SLOT_DTO_SELECT +
+                        "WHERE d.id IN :doctorIds " +
                         "AND s.slotDate = :date " +
                         "AND s.isAvailable = true " +
                         "ORDER BY s.consultationStartTime")
-        List<Slot> searchByDoctorNameAndDate(
-                        @Param("doctorName") String doctorName,
+        List<SlotDTO> findAvailableByDoctorIdsAndDate(
+                        @Param("doctorIds") Collection<Long> doctorIds,
                         @Param("date") LocalDate date);
 
         /**
          * Search by specialization and date
          */
-        @Query("SELECT s FROM Slot s JOIN s.doctor d " +
+        @Query(SLOT_DTO_SELECT +
                         "WHERE LOWER(d.specialization) = LOWER(:specialization) " +
                         "AND s.slotDate = :date " +
                         "AND s.isAvailable = true " +
-                        "ORDER BY d.hospital.name, s.consultationStartTime")
-        List<Slot> searchBySpecializationAndDate(
+                        "ORDER BY h.name, s.consultationStartTime")
+        List<SlotDTO> searchBySpecializationAndDate(
                         @Param("specialization") String specialization,
                         @Param("date") LocalDate date);
 
+        /**
+         * Every slot of a specialization in a date range, full ones included
+         * WHY: Loads EarliestSlotIndex in one query - full slots are kept so a
+         * cancellation can bring them back without another lookup
+         *
+         * RETURNS: rows of [SlotDTO, row version] - the version orders later
+         *          SlotCapacityChangedEvents against this snapshot
+         */
+        @Query("SELECT " + SLOT_DTO + ", s.version " + SLOT_DTO_FROM +
+                        "WHERE LOWER(d.specialization) = LOWER(:specialization) " +
+                        "AND s.slotDate BETWEEN :startDate AND :endDate")
+        List<Object[]> findBySpecializationBetween(
+                        @Param("specialization") String specialization,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Keyset pagination: first page of bookable slots (today onwards)
+         * 
+         * ORDER: (slotDate, consultationStartTime, id) - id breaks ties so the order is total
+         */
+        @Query(SLOT_DTO_SELECT +
+                        "WHERE s.isAvailable = true AND s.slotDate >= :today " +
+                        "ORDER BY s.slotDate, s.consultationStartTime, s.id")
+        List<SlotDTO> findAvailableFrom(@Param("today") LocalDate today, Limit limit);
+
+        /**
+         * Keyset pagination: next page, strictly after the cursor row
+         * Row-value comparison lets PostgreSQL seek straight to the cursor
+         */
+        @Query(SLOT_DTO_SELECT +
+                        "WHERE s.isAvailable = true AND s.slotDate >= :today " +
+                        "AND (s.slotDate, s.consultationStartTime, s.id) > (:date, :time, :id) " +
+                        "ORDER BY s.slotDate, s.consultationStartTime, s.id")
+        List<SlotDTO> findAvailableAfter(
+                        @Param("today") LocalDate today,
+                        @Param("date") LocalDate date,
+                        @Param("time") LocalTime time,
+                        @Param("id") Long id,
+                        Limit limit);
+
+        @EntityGraph(Slot.WITH_DOCTOR)
         List<Slot> findByDoctor(Doctor doctor);
 
+        @EntityGraph(Slot.WITH_DOCTOR)
         List<Slot> findBySlotDate(LocalDate slotDate);
 
         boolean existsByDoctorAndSlotDate(Doctor doctor, LocalDate slotDate);
 
+        /**
+         * Dates that already have a slot, for many doctors over a date range
+         * WHY: Slot generation needs the missing dates - one query instead of
+         * one existsByDoctorAndSlotDate probe per doctor per day
+         */
+        @Query("SELECT s.doctor.id AS doctorId, s.slotDate AS slotDate FROM Slot s " +
+                        "WHERE s.doctor.id IN :doctorIds " +
+                        "AND s.slotDate BETWEEN :startDate AND :endDate")
+        List<ScheduledDate> findScheduledDates(
+                        @Param("doctorIds") Collection<Long> doctorIds,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Per-day capacity of one doctor over a date range
+         * WHY: Builds the whole availability calendar (DoctorAvailabilityCalendar)
+         * in one query - no entities, one row per scheduled day
+         */
+        @Query("SELECT s.slotDate AS slotDate, s.maxBookingsPerDay AS maxBookingsPerDay, " +
+                        "s.currentBookings AS currentBookings, s.isAvailable AS isAvailable, " +
+                        "s.version AS version FROM Slot s " +
+                        "WHERE s.doctor.id = :doctorId " +
+                        "AND s.slotDate BETWEEN :startDate AND :endDate")
+        List<CalendarDay> findCalendarDays(
+                        @Param("doctorId") Long doctorId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
         long countByIsAvailableTrue();
+
+        /**
+         * Reserve one booking position in a single statement
+         *
+         * WHY: Replaces findById + bookSlot() + save (two round trips, a dirty-check flush
+         * and a race window). The WHERE clause makes the increment conditional, so two
+         * concurrent bookings can never both take the last position.
+         * version is bumped so versioned entity updates (cancelSlot) still see the change.
+         *
+         * RETURNS: the new currentBookings (= the caller's queue position) and row version,
+         *          empty if the slot is full or does not exist
+         * NOTE: PostgreSQL "UPDATE ... RETURNING" - must run inside a read-write transaction
+         */
+        @Query(value = "UPDATE slots SET current_bookings = current_bookings + 1, " +
+                        "is_available = (current_bookings + 1 < max_bookings_per_day), " +
+                        "version = version + 1 " +
+                        "WHERE id = :slotId AND current_bookings < max_bookings_per_day " +
+                        "RETURNING current_bookings AS \"currentBookings\", version AS \"version\"",
+                        nativeQuery = true)
+        Optional<PositionReservation> reserveBooking(@Param("slotId") Long slotId);
+
+        /**
+         * Reserve up to :requested positions in a single statement (batch bookings)
+         *
+         * WHY the locked sub-select: RETURNING only sees new values, but the caller needs
+         * the count BEFORE the update to know which positions it was granted.
+         * Grants are capped at maxBookingsPerDay, so a batch can partially succeed.
+         *
+         * RETURNS: previous and new counts - positions (previous, current] belong to the caller -
+         *          and the new row version, empty if the slot is full or does not exist
+         */
+        @Query(value = "UPDATE slots s SET " +
+                        "current_bookings = LEAST(s.current_bookings + :requested, s.max_bookings_per_day), " +
+                        "is_available = (s.current_bookings + :requested < s.max_bookings_per_day), " +
+                        "version = s.version + 1 " +
+                        "FROM (SELECT id, current_bookings FROM slots WHERE id = :slotId FOR UPDATE) p " +
+                        "WHERE s.id = p.id AND s.current_bookings < s.max_bookings_per_day " +
+                        "RETURNING p.current_bookings AS \"previousBookings\", " +
+                        "s.current_bookings AS \"currentBookings\", s.version AS \"version\"",
+                        nativeQuery = true)
+        Optional<CapacityReservation> reserveBookings(@Param("slotId") Long slotId,
+                        @Param("requested") int requested);
+
+        /**
+         * Last scheduled date per doctor - the roll-forward watermark
+         * Doctors without any slot are not returned
+         */
+        @Query("SELECT s.doctor.id AS doctorId, MAX(s.slotDate) AS slotDate FROM Slot s " +
+                        "GROUP BY s.doctor.id")
+        List<ScheduledDate> findLastScheduledDates();
+
+        /**
+         * Result of findScheduledDates / findLastScheduledDates
+         */
+        interface ScheduledDate {
+                Long getDoctorId();
+
+                LocalDate getSlotDate();
+        }
+
+        /**
+         * Result of findCalendarDays
+         */
+        interface CalendarDay {
+                LocalDate getSlotDate();
+
+                Integer getMaxBookingsPerDay();
+
+                Integer getCurrentBookings();
+
+                Boolean getIsAvailable();
+
+                Long getVersion();
+        }
+
+        /**
+         * Result of reserveBooking
+         */
+        interface PositionReservation {
+                Integer getCurrentBookings();
+
+                Long getVersion();
+        }
+
+        /**
+         * Result of reserveBookings
+         */
+        interface CapacityReservation {
+                Integer getPreviousBookings();
+
+                Integer getCurrentBookings();
+
+                Long getVersion();
+        }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.appointment.booking.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.appointment.booking.dto.SlotDTO;
+
+/**
+ * Multi-criteria slot search (custom fragment of SlotRepository)
+ *
+ * WHY: Any combination of hospital / doctor / specialization over a date range -
+ * one dynamic query instead of one derived query per combination
+ */
+public interface SlotSearchRepository {
+
+    /**
+     * Bookable slots matching every non-null filter, in keyset order
+     * (slotDate, consultationStartTime, id), at most `limit` rows
+     */
+    List<SlotDTO> search(SlotSearchCriteria criteria, int limit);
+
+    /**
+     * Filters - null means "any". startDate / endDate are required.
+     * afterDate / afterTime / afterId: the cursor row (null on the first page)
+     */
+    record SlotSearchCriteria(
+            Long hospitalId,
+            Long doctorId,
+            String specialization,
+            LocalDate startDate,
+            LocalDate endDate,
+            LocalDate afterDate,
+            LocalTime afterTime,
+            Long afterId) {
+    }
+}
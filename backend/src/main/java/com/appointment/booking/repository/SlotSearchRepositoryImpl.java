@@ -0,0 +1,60 @@
+package com.appointment.booking.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.appointment.booking.dto.SlotDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * JPQL built from the filters that are set
+ *
+ * - Same SlotDTO projection as the fixed queries (SlotRepository.SLOT_DTO_SELECT)
+ * - Only bind parameters, never values in the JPQL - at most 16 distinct
+ *   query strings, so Hibernate's query plan cache covers them all
+ * - Same order and row-value cursor as GET /api/slots -> idx_slots_available_date
+ */
+class SlotSearchRepositoryImpl implements SlotSearchRepository {
+
+    private final EntityManager entityManager;
+
+    SlotSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<SlotDTO> search(SlotSearchCriteria criteria, int limit) {
+        StringBuilder jpql = new StringBuilder(SlotRepository.SLOT_DTO_SELECT)
+                .append("WHERE s.isAvailable = true AND s.slotDate BETWEEN :startDate AND :endDate ");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("startDate", criteria.startDate());
+        parameters.put("endDate", criteria.endDate());
+
+        if (criteria.hospitalId() != null) {
+            jpql.append("AND h.id = :hospitalId ");
+            parameters.put("hospitalId", criteria.hospitalId());
+        }
+        if (criteria.doctorId() != null) {
+            jpql.append("AND d.id = :doctorId ");
+            parameters.put("doctorId", criteria.doctorId());
+        }
+        if (criteria.specialization() != null) {
+            jpql.append("AND LOWER(d.specialization) = LOWER(:specialization) ");
+            parameters.put("specialization", criteria.specialization());
+        }
+        if (criteria.afterId() != null) {
+            jpql.append("AND (s.slotDate, s.consultationStartTime, s.id) > (:afterDate, :afterTime, :afterId) ");
+            parameters.put("afterDate", criteria.afterDate());
+            parameters.put("afterTime", criteria.afterTime());
+            parameters.put("afterId", criteria.afterId());
+        }
+        jpql.append("ORDER BY s.slotDate, s.consultationStartTime, s.id");
+
+        TypedQuery<SlotDTO> query = entityManager.createQuery(jpql.toString(), SlotDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
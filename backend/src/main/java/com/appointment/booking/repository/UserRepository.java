@@ -1,8 +1,12 @@
 package com.appointment.booking.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.appointment.booking.entity.User;
@@ -25,4 +29,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * NEW: Check if user exists with this phone + NIC
      */
     boolean existsByPhoneNumberAndNic(String phoneNumber, String nic);
+    
+    /**
+     * NEW: Bulk lookup for batch bookings
+     * 
+     * WHY: One query for a whole batch instead of one findByPhoneNumberAndNic per item.
+     * Callers match the NIC in memory (phone + NIC is the user key).
+     */
+    List<User> findByPhoneNumberIn(Collection<String> phoneNumbers);
+    
+    /**
+     * Which of these emails are already taken (users.email is unique)
+     * 
+     * WHY: Batch bookings check new guests' emails up front - one collision
+     * must fail its own item, not the whole batch.
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.appointment.booking.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.appointment.booking.entity.WaitlistEntry;
+
+/**
+ * Waitlist Repository
+ *
+ * FIFO per slot: queue order is the entry id. Both queue queries below are served by
+ * the partial index idx_waitlist_entries_slot_waiting (slot_id, id) WHERE status = 'WAITING'.
+ */
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Single entry with slot (position check) and user (ownership check)
+     * Doctor / hospital come from the second-level cache
+     */
+    @Override
+    @EntityGraph(attributePaths = { "slot", "user" })
+    Optional<WaitlistEntry> findById(Long id);
+
+    /**
+     * Head of a slot's queue, locked for promotion
+     *
+     * WHY SKIP LOCKED: two cancellations on the same slot at once must promote
+     * two different patients - the second one skips the row the first has locked.
+     * NOTE: FOR UPDATE - must run inside a read-write transaction
+     */
+    @Query(value = "SELECT * FROM waitlist_entries " +
+            "WHERE slot_id = :slotId AND status = 'WAITING' " +
+            "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<WaitlistEntry> lockNextWaiting(@Param("slotId") Long slotId);
+
+    /**
+     * Waiting entries queued before this one (position = this + 1)
+     */
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w " +
+            "WHERE w.slot.id = :slotId AND w.status = 'WAITING' AND w.id < :entryId")
+    long countAhead(@Param("slotId") Long slotId, @Param("entryId") Long entryId);
+
+    /**
+     * A patient's current place in a slot's queue, if any (joining twice returns it)
+     */
+    @Query("SELECT w FROM WaitlistEntry w " +
+            "WHERE w.slot.id = :slotId AND w.user.id = :userId AND w.status = 'WAITING'")
+    Optional<WaitlistEntry> findWaiting(@Param("slotId") Long slotId, @Param("userId") Long userId);
+}
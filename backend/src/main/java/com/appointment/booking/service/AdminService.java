@@ -1,17 +1,33 @@
 package com.appointment.booking.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.appointment.booking.config.CacheConfig;
+import com.appointment.booking.dto.admin.BookingExportDTO;
 import com.appointment.booking.dto.admin.BulkDoctorImportRequestDTO;
 import com.appointment.booking.dto.admin.DoctorAdminDTO;
 import com.appointment.booking.dto.admin.HospitalDTO;
@@ -24,6 +40,10 @@ import com.appointment.booking.repository.BookingRepository;
 import com.appointment.booking.repository.DoctorRepository;
 import com.appointment.booking.repository.HospitalRepository;
 import com.appointment.booking.repository.SlotRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,6 +55,15 @@ public class AdminService {
     private final HospitalRepository hospitalRepository;
     private final SlotRepository slotRepository;
     private final BookingRepository bookingRepository;
+    private final SlotCapacityLedger slotCapacityLedger;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final SlotGenerationService slotGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final WaitlistService waitlistService;
+
+    private static final String CSV_HEADER = "id,bookingTime,appointmentDate,appointmentTime,status," +
+            "patientName,phoneNumber,nic,doctorName,specialization,hospitalName,amountPaid,patientNotes\n";
 
     // ============ HOSPITAL MANAGEMENT ============
 
@@ -45,6 +74,7 @@ public class AdminService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.HOSPITALS, allEntries = true)
     public HospitalDTO createHospital(HospitalDTO hospitalDTO) {
         Hospital hospital = new Hospital();
         hospital.setName(hospitalDTO.getName());
@@ -82,6 +112,7 @@ public class AdminService {
         }
 
         Doctor saved = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.of(saved.getId()));
         return convertToDTO(saved);
     }
 
@@ -99,15 +130,21 @@ public class AdminService {
         }
 
         Doctor updated = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.of(id));
         return convertToDTO(updated);
     }
 
     @Transactional
     public void deleteDoctor(Long id) {
         doctorRepository.deleteById(id);
+        eventPublisher.publishEvent(DoctorChangedEvent.of(id));
     }
 
+    /**
+     * May also create hospitals - evicts the hospitals cache
+     */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.HOSPITALS, allEntries = true)
     public Map<String, Object> bulkImportDoctors(BulkDoctorImportRequestDTO request) {
         List<Doctor> doctors = new ArrayList<>();
         List<String> errors = new ArrayList<>();
@@ -147,6 +184,8 @@ public class AdminService {
         }
 
         doctorRepository.saveAll(doctors);
+        eventPublisher.publishEvent(new DoctorChangedEvent(
+                doctors.stream().map(Doctor::getId).collect(Collectors.toList())));
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", successCount);
@@ -159,37 +198,69 @@ public class AdminService {
 
     // ============ SLOT MANAGEMENT ============
 
+    /**
+     * Generate one slot per doctor per day for the date range
+     * Accepts doctorId and/or doctorIds; existing days are skipped
+     * See SlotGenerationService for the set-based engine
+     */
     @Transactional
     public Map<String, Object> generateSlots(SlotGenerationRequestDTO request) {
-        Doctor doctor = doctorRepository.findById(request.getDoctorId())
-                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            throw new RuntimeException("Start date and end date are required");
+        }
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new RuntimeException("Start date must not be after end date");
+        }
 
-        List<Slot> slotsToSave = new ArrayList<>();
-        LocalDate currentDate = request.getStartDate();
-        int totalGenerated = 0;
+        Set<Long> doctorIds = new LinkedHashSet<>();
+        if (request.getDoctorId() != null) {
+            doctorIds.add(request.getDoctorId());
+        }
+        if (request.getDoctorIds() != null) {
+            doctorIds.addAll(request.getDoctorIds());
+        }
+        if (doctorIds.isEmpty()) {
+            throw new RuntimeException("At least one doctor is required");
+        }
+
+        Map<Long, Doctor> found = doctorRepository.findAllById(doctorIds).stream()
+                .collect(Collectors.toMap(Doctor::getId, doctor -> doctor));
+        List<Doctor> doctors = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            Doctor doctor = found.get(doctorId);
+            if (doctor == null) {
+                throw new RuntimeException("Doctor not found with ID: " + doctorId);
+            }
+            doctors.add(doctor);
+        }
 
         // Apply Entity constraints
-        LocalTime startTime = request.getConsultationStartTime() != null ? request.getConsultationStartTime()
+        // Minute precision: start times are shown (and used as slot list cursors) as HH:mm
+        LocalTime startTime = request.getConsultationStartTime() != null
+                ? request.getConsultationStartTime().truncatedTo(ChronoUnit.MINUTES)
                 : LocalTime.of(9, 0);
 
-        while (!currentDate.isAfter(request.getEndDate())) {
-            // Respect the Unique Constraint (doctor_id + slot_date)
-            if (!slotRepository.existsByDoctorAndSlotDate(doctor, currentDate)) {
-                // Using the specific constructor from your Entity
-                Slot slot = new Slot(null, currentDate, startTime, doctor);
-                slotsToSave.add(slot);
-                totalGenerated++;
-            }
-            currentDate = currentDate.plusDays(1);
-        }
+        Map<Long, Integer> generated = slotGenerationService.generate(
+                doctors, request.getStartDate(), request.getEndDate(), startTime);
 
-        if (!slotsToSave.isEmpty()) {
-            slotRepository.saveAll(slotsToSave);
+        List<Map<String, Object>> perDoctor = new ArrayList<>();
+        int totalGenerated = 0;
+        for (Doctor doctor : doctors) {
+            int count = generated.getOrDefault(doctor.getId(), 0);
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("doctorId", doctor.getId());
+            entry.put("doctor", doctor.getName());
+            entry.put("slotsGenerated", count);
+            perDoctor.add(entry);
+            totalGenerated += count;
         }
 
         Map<String, Object> result = new HashMap<>();
         result.put("slotsGenerated", totalGenerated);
-        result.put("doctor", doctor.getName());
+        if (doctors.size() == 1) {
+            result.put("doctor", doctors.get(0).getName());
+        }
+        result.put("doctors", perDoctor);
         result.put("dateRange", request.getStartDate() + " to " + request.getEndDate());
         return result;
     }
@@ -223,19 +294,78 @@ public class AdminService {
 
     @Transactional
     public void deleteSlot(Long id) {
-        slotRepository.deleteById(id);
+        slotRepository.findById(id).ifPresent(slot -> {
+            slotRepository.delete(slot);
+            eventPublisher.publishEvent(SlotScheduleChangedEvent.of(slot.getDoctor().getId()));
+        });
+        slotCapacityLedger.evict(id);
     }
 
     // ============ BOOKING MANAGEMENT ============
 
+    /**
+     * Status filter runs in the database (was findAll + filter in Java)
+     * Unknown status -> no bookings, as before
+     */
     public List<Booking> getAllBookings(String status) {
-        List<Booking> all = bookingRepository.findAll();
-        if (status != null && !status.trim().isEmpty()) {
-            return all.stream()
-                    .filter(b -> b.getStatus() != null && b.getStatus().name().equalsIgnoreCase(status))
-                    .collect(Collectors.toList());
+        if (status == null || status.trim().isEmpty()) {
+            return bookingRepository.findAll();
+        }
+        return parseStatus(status)
+                .map(bookingRepository::findByStatus)
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Stream bookings to the client as NDJSON or CSV
+     *
+     * WHY: A month-end export of hundreds of thousands of bookings used to be
+     * loaded as entities (with user, slot, doctor and hospital) and serialized in one go.
+     * FLOW:
+     * 1. Flat rows are read through a database cursor (fetch size 500)
+     * 2. Each row is written as soon as it is read - memory stays flat
+     * Runs in a read-only transaction: PostgreSQL only uses a cursor inside one.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(String status, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookingExportDTO> rows = streamBookings(status)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    /**
+     * Export formats for GET /api/admin/bookings?format=...
+     */
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        ExportFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return name().toLowerCase();
+        }
+
+        public static Optional<ExportFormat> from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value.trim())) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
         }
-        return all;
     }
 
     public Map<String, Object> getBookingStats() {
@@ -245,15 +375,29 @@ public class AdminService {
         return stats;
     }
 
-    @Transactional
+    /**
+     * Retried on slot version conflicts, same as the patient-facing cancel
+     */
     public void cancelBooking(Long id) {
+        retryExecutor.inTransaction(() -> {
+            removeBooking(id);
+            return null;
+        });
+    }
+
+    private void removeBooking(Long id) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        if (booking.getSlot() != null) {
+        if (booking.getSlot() != null && booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
             Slot slot = booking.getSlot();
-            slot.cancelSlot(); // Uses logic: currentBookings--
-            slotRepository.save(slot);
+            // The position goes to the head of the waitlist - or back to the slot
+            if (!waitlistService.promoteNext(slot, booking.getAppointmentTime())) {
+                slot.cancelSlot(); // Uses logic: currentBookings-- (versioned)
+                slotRepository.saveAndFlush(slot); // flushed: the event carries the new version
+                slotCapacityLedger.release(slot);
+                eventPublisher.publishEvent(SlotCapacityChangedEvent.of(slot, slot.getCurrentBookings(), slot.getVersion()));
+            }
         }
         bookingRepository.delete(booking);
     }
@@ -272,6 +416,73 @@ public class AdminService {
 
     // ============ HELPERS ============
 
+    private Stream<BookingExportDTO> streamBookings(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return bookingRepository.streamForExport();
+        }
+        return parseStatus(status)
+                .map(bookingRepository::streamForExportByStatus)
+                .orElseGet(Stream::empty);
+    }
+
+    private static Optional<Booking.BookingStatus> parseStatus(String status) {
+        try {
+            return Optional.of(Booking.BookingStatus.valueOf(status.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * One JSON object per line
+     * FLUSH_AFTER_WRITE_VALUE off: the generator's buffer decides when bytes go out,
+     * not every single row
+     */
+    private void writeNdjson(Iterator<BookingExportDTO> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<BookingExportDTO> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            BookingExportDTO row = rows.next();
+            writer.write(csvLine(row.getId(), row.getBookingTime(), row.getAppointmentDate(),
+                    row.getAppointmentTime(), row.getStatus(), row.getPatientName(), row.getPhoneNumber(),
+                    row.getNic(), row.getDoctorName(), row.getSpecialization(), row.getHospitalName(),
+                    row.getAmountPaid(), row.getPatientNotes()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * RFC 4180: quote values containing a comma, quote or line break; double embedded quotes
+     */
+    private static String csvLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = values[i] == null ? "" : values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.append('\n').toString();
+    }
+
     private void copyDtoToEntity(DoctorAdminDTO dto, Doctor entity) {
         entity.setName(dto.getName());
         entity.setSpecialization(dto.getSpecialization());
@@ -0,0 +1,292 @@
+package com.appointment.booking.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.appointment.booking.config.RateLimiter;
+import com.appointment.booking.config.RateLimiter.Endpoint;
+import com.appointment.booking.config.RateLimiter.KeyType;
+import com.appointment.booking.dto.BookingBatchRequestDTO;
+import com.appointment.booking.dto.BookingBatchResultDTO;
+import com.appointment.booking.dto.BookingBatchResultDTO.ItemResult;
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.entity.Booking;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.SlotRepository.CapacityReservation;
+import com.appointment.booking.repository.UserRepository;
+
+/**
+ * Booking Batch Service
+ *
+ * WHY: Call centres submit dozens of bookings at once. Sending each through
+ * createBooking costs a transaction and ~4 statements per booking.
+ *
+ * PIPELINE (one transaction for the whole batch):
+ * 1. Validate every item (bad items fail individually) and take one phone + NIC
+ *    rate-limit token per item - a batch is many patients' attempts, not one
+ * 2. Resolve users  - ONE lookup for all phone numbers (+ one for new guests' emails),
+ *                     new users saved together
+ * 3. Load slots     - ONE findAllById
+ * 4. Reserve        - ONE conditional UPDATE per distinct slot (SlotRepository.reserveBookings)
+ * 5. Insert         - ONE JDBC batch for all booking rows
+ *
+ * PARTIAL FAILURE: Items that fail validation, reuse a registered email, or don't fit
+ * in their slot, are reported per item; the rest are booked.
+ */
+@Service
+public class BookingBatchService {
+
+    private static final int MAX_BATCH_SIZE = 200;
+
+    private static final String INSERT_BOOKING =
+        "INSERT INTO bookings (user_id, slot_id, booking_time, appointment_time, status, patient_notes, amount_paid) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final SlotRepository slotRepository;
+    private final MappingService mappingService;
+    private final SlotCapacityLedger slotCapacityLedger;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RateLimiter rateLimiter;
+
+    public BookingBatchService(UserRepository userRepository,
+                              SlotRepository slotRepository,
+                              MappingService mappingService,
+                              SlotCapacityLedger slotCapacityLedger,
+                              JdbcTemplate jdbcTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              RateLimiter rateLimiter) {
+        this.userRepository = userRepository;
+        this.slotRepository = slotRepository;
+        this.mappingService = mappingService;
+        this.slotCapacityLedger = slotCapacityLedger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Transactional
+    public BookingBatchResultDTO createBookings(BookingBatchRequestDTO request) {
+        List<BookingRequestDTO> items = request.getBookings();
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("At least one booking is required");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("A batch can contain at most " + MAX_BATCH_SIZE + " bookings");
+        }
+
+        ItemResult[] results = new ItemResult[items.size()];
+
+        // 1. Validate - group valid items by slot, keeping submission order
+        Map<Long, List<Integer>> indexesBySlot = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BookingRequestDTO item = items.get(i);
+            try {
+                BookingService.validateGuestDetails(item);
+                if (item.getSlotId() == null) {
+                    throw new RuntimeException("Slot is required");
+                }
+                String identity = RateLimiter.identity(item.getPhoneNumber(), item.getNic());
+                if (rateLimiter.tryAcquire(Endpoint.CREATE_BOOKING, KeyType.IDENTITY, identity) > 0) {
+                    throw new RuntimeException("Too many booking attempts for this patient - please try again later");
+                }
+                indexesBySlot.computeIfAbsent(item.getSlotId(), id -> new ArrayList<>()).add(i);
+            } catch (RuntimeException e) {
+                results[i] = ItemResult.failure(i, e.getMessage());
+            }
+        }
+
+        // 2. Resolve users - items whose guest can't be created fail on their own
+        Map<String, User> users = resolveUsers(items, indexesBySlot, results);
+
+        // 3. Load slots
+        Map<Long, Slot> slots = slotRepository.findAllById(indexesBySlot.keySet())
+            .stream()
+            .collect(Collectors.toMap(Slot::getId, slot -> slot));
+
+        // 4. Reserve capacity per slot
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingIndexes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Map.Entry<Long, List<Integer>> group : indexesBySlot.entrySet()) {
+            List<Integer> indexes = group.getValue();
+            Slot slot = slots.get(group.getKey());
+            if (slot == null) {
+                indexes.forEach(i -> results[i] = ItemResult.failure(i, "Slot not found with id: " + group.getKey()));
+                continue;
+            }
+
+            int granted = 0;
+            int firstPosition = 0;
+            SlotCapacityLedger.Ticket ticket = slotCapacityLedger.tryReserve(slot, indexes.size());
+            if (ticket.count() > 0) {
+                CapacityReservation reservation = slotRepository.reserveBookings(slot.getId(), ticket.count()).orElse(null);
+                if (reservation != null) {
+                    granted = reservation.getCurrentBookings() - reservation.getPreviousBookings();
+                    firstPosition = reservation.getPreviousBookings() + 1;
+                    slotCapacityLedger.recordReserved(ticket, granted, reservation.getCurrentBookings());
+                    eventPublisher.publishEvent(SlotCapacityChangedEvent.of(slot, reservation.getCurrentBookings(),
+                            reservation.getVersion()));
+                } else {
+                    slotCapacityLedger.recordFull(ticket);
+                }
+            }
+
+            for (int k = 0; k < indexes.size(); k++) {
+                int i = indexes.get(k);
+                if (k >= granted) {
+                    results[i] = ItemResult.failure(i, "Slot is not available");
+                    continue;
+                }
+                BookingRequestDTO item = items.get(i);
+                Booking booking = new Booking(
+                    users.get(userKey(item.getPhoneNumber(), item.getNic())),
+                    slot,
+                    now,
+                    slot.getAppointmentTime(firstPosition + k),
+                    Booking.BookingStatus.CONFIRMED
+                );
+                booking.setPatientNotes(item.getPatientNotes());
+                booking.setAmountPaid(slot.getDoctor().getConsultationFee());
+                bookings.add(booking);
+                bookingIndexes.add(i);
+            }
+        }
+
+        // 5. Insert all bookings in one JDBC batch
+        insertAll(bookings);
+        for (int b = 0; b < bookings.size(); b++) {
+            int i = bookingIndexes.get(b);
+            results[i] = ItemResult.success(i, mappingService.toBookingDTO(bookings.get(b)));
+        }
+
+        return new BookingBatchResultDTO(List.of(results));
+    }
+
+    /**
+     * Find existing users for the whole batch in one query, create the missing ones
+     * KEY: phone + NIC (same identity as findByPhoneNumberAndNic)
+     * 
+     * EMAIL: users.email is unique - a new guest whose email is already taken (or
+     * claimed by an earlier item of this batch) would fail the whole insert. Those
+     * items are reported as failures and dropped from indexesBySlot instead.
+     */
+    private Map<String, User> resolveUsers(List<BookingRequestDTO> items,
+                                           Map<Long, List<Integer>> indexesBySlot,
+                                           ItemResult[] results) {
+        Map<String, User> users = new HashMap<>();
+        if (indexesBySlot.isEmpty()) {
+            return users;
+        }
+        Set<String> phoneNumbers = indexesBySlot.values().stream()
+            .flatMap(List::stream)
+            .map(i -> items.get(i).getPhoneNumber())
+            .collect(Collectors.toSet());
+        for (User user : userRepository.findByPhoneNumberIn(phoneNumbers)) {
+            users.putIfAbsent(userKey(user.getPhoneNumber(), user.getNic()), user);
+        }
+
+        List<Integer> newUserIndexes = indexesBySlot.values().stream()
+            .flatMap(List::stream)
+            .filter(i -> !users.containsKey(userKey(items.get(i).getPhoneNumber(), items.get(i).getNic())))
+            .sorted()
+            .collect(Collectors.toList());
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> emails = newUserIndexes.stream()
+            .map(i -> items.get(i).getEmail())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (!emails.isEmpty()) {
+            takenEmails.addAll(userRepository.findExistingEmails(emails));
+        }
+
+        List<User> newUsers = new ArrayList<>();
+        Set<Integer> rejected = new HashSet<>();
+        for (int i : newUserIndexes) {
+            BookingRequestDTO item = items.get(i);
+            String key = userKey(item.getPhoneNumber(), item.getNic());
+            if (users.containsKey(key)) {
+                continue; // same guest as an earlier item of this batch
+            }
+            if (item.getEmail() != null && !takenEmails.add(item.getEmail())) {
+                results[i] = ItemResult.failure(i, "Email is already registered to another user");
+                rejected.add(i);
+                continue;
+            }
+            User user = BookingService.newGuestUser(item);
+            newUsers.add(user);
+            users.put(key, user);
+        }
+        userRepository.saveAll(newUsers);
+
+        if (!rejected.isEmpty()) {
+            indexesBySlot.values().forEach(indexes -> indexes.removeIf(rejected::contains));
+            indexesBySlot.values().removeIf(List::isEmpty);
+        }
+        return users;
+    }
+
+    /**
+     * WHY JdbcTemplate: Booking ids are IDENTITY, which stops Hibernate from batching inserts.
+     * A plain JDBC batch still returns the generated ids.
+     */
+    private void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_BOOKING, new String[] { "id" }),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Booking booking = bookings.get(i);
+                    ps.setLong(1, booking.getUser().getId());
+                    ps.setLong(2, booking.getSlot().getId());
+                    ps.setObject(3, booking.getBookingTime());
+                    ps.setObject(4, booking.getAppointmentTime());
+                    ps.setString(5, booking.getStatus().name());
+                    ps.setString(6, booking.getPatientNotes());
+                    ps.setObject(7, booking.getAmountPaid(), Types.DOUBLE);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return bookings.size();
+                }
+            },
+            keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) generated.get(i).get("id")).longValue());
+        }
+    }
+
+    private static String userKey(String phoneNumber, String nic) {
+        return phoneNumber + "|" + nic;
+    }
+}
@@ -4,8 +4,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +16,7 @@ import com.appointment.booking.entity.Slot;
 import com.appointment.booking.entity.User;
 import com.appointment.booking.repository.BookingRepository;
 import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.SlotRepository.PositionReservation;
 import com.appointment.booking.repository.UserRepository;
 
 @Service
@@ -25,15 +26,27 @@ public class BookingService {
     private final SlotRepository slotRepository;
     private final UserRepository userRepository;
     private final MappingService mappingService;
+    private final SlotCapacityLedger slotCapacityLedger;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final WaitlistService waitlistService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public BookingService(BookingRepository bookingRepository,
                          SlotRepository slotRepository,
                          UserRepository userRepository,
-                         MappingService mappingService) {
+                         MappingService mappingService,
+                         SlotCapacityLedger slotCapacityLedger,
+                         OptimisticRetryExecutor retryExecutor,
+                         WaitlistService waitlistService,
+                         ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.slotRepository = slotRepository;
         this.userRepository = userRepository;
         this.mappingService = mappingService;
+        this.slotCapacityLedger = slotCapacityLedger;
+        this.retryExecutor = retryExecutor;
+        this.waitlistService = waitlistService;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -42,66 +55,45 @@ public class BookingService {
      * FLOW:
      * 1. Check if user exists (by phone + NIC)
      * 2. If not, create new user
-     * 3. Book the slot
+     * 3. Reserve a position with one conditional UPDATE (SlotRepository.reserveBooking)
      * 4. Create booking record
+     * 5. Announce the new count to live subscribers (SlotAvailabilityBroadcaster, after commit)
+     * 
+     * CONCURRENCY: The reservation is atomic in the database - no read-modify-write
+     * of the Slot entity, so no lost updates and nothing to retry.
      */
     @Transactional
     public BookingDTO createBooking(BookingRequestDTO request) {
         // Validate required fields
-        if (request.getName() == null || request.getName().trim().isEmpty()) {
-            throw new RuntimeException("Name is required");
-        }
-        if (request.getPhoneNumber() == null || request.getPhoneNumber().trim().isEmpty()) {
-            throw new RuntimeException("Phone number is required");
-        }
-        if (request.getNic() == null || request.getNic().trim().isEmpty()) {
-            throw new RuntimeException("NIC is required");
-        }
+        validateGuestDetails(request);
         
         // Get or create user
         User user = userRepository.findByPhoneNumberAndNic(
             request.getPhoneNumber(), 
             request.getNic()
-        ).orElseGet(() -> {
-            // Create new user
-            User newUser = new User();
-            newUser.setName(request.getName());
-            newUser.setPhoneNumber(request.getPhoneNumber());
-            newUser.setNic(request.getNic());
-            newUser.setEmail(request.getEmail());
-            newUser.setAge(request.getAge());
-            
-            if (request.getGender() != null) {
-                try {
-                    newUser.setGender(User.Gender.valueOf(request.getGender().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    // Invalid gender, leave as null
-                }
-            }
-            
-            return userRepository.save(newUser);
-        });
+        ).orElseGet(() -> userRepository.save(newGuestUser(request)));
         
         // Validate slot
         Slot slot = slotRepository.findById(request.getSlotId())
             .orElseThrow(() -> new RuntimeException("Slot not found with id: " + request.getSlotId()));
         
-        // Get next available time BEFORE booking
-        LocalTime appointmentTime = slot.getNextAvailableTime();
+        // Turn the request away early if the ledger already knows the slot is full
+        SlotCapacityLedger.Ticket ticket = slot.getIsAvailable() ? slotCapacityLedger.tryReserve(slot) : null;
+        if (ticket == null || ticket.count() == 0) {
+            throw new RuntimeException("Slot is not available");
+        }
         
-        // Book the slot
-        synchronized (slot) {
-            if (!slot.getIsAvailable()) {
-                throw new RuntimeException("Slot is not available");
-            }
-            
-            boolean booked = slot.bookSlot();
-            if (!booked) {
-                throw new RuntimeException("Failed to book slot - already full");
-            }
-            
-            slotRepository.save(slot);
+        // Book the slot - returns our position (1..maxBookingsPerDay)
+        PositionReservation reserved = slotRepository.reserveBooking(slot.getId()).orElse(null);
+        if (reserved == null) {
+            slotCapacityLedger.recordFull(ticket);
+            throw new RuntimeException("Failed to book slot - already full");
         }
+        int position = reserved.getCurrentBookings();
+        slotCapacityLedger.recordReserved(ticket, 1, position);
+        eventPublisher.publishEvent(SlotCapacityChangedEvent.of(slot, position, reserved.getVersion()));
+        
+        LocalTime appointmentTime = slot.getAppointmentTime(position);
         
         // Create booking
         Booking booking = new Booking(
@@ -118,40 +110,81 @@ public class BookingService {
         return mappingService.toBookingDTO(savedBooking);
     }
     
+    /**
+     * Required guest details - shared with BookingBatchService
+     */
+    static void validateGuestDetails(BookingRequestDTO request) {
+        if (request.getName() == null || request.getName().trim().isEmpty()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (request.getPhoneNumber() == null || request.getPhoneNumber().trim().isEmpty()) {
+            throw new RuntimeException("Phone number is required");
+        }
+        if (request.getNic() == null || request.getNic().trim().isEmpty()) {
+            throw new RuntimeException("NIC is required");
+        }
+    }
+    
+    /**
+     * New (unsaved) guest user from booking details - shared with BookingBatchService
+     */
+    static User newGuestUser(BookingRequestDTO request) {
+        User newUser = new User();
+        newUser.setName(request.getName());
+        newUser.setPhoneNumber(request.getPhoneNumber());
+        newUser.setNic(request.getNic());
+        newUser.setEmail(request.getEmail());
+        newUser.setAge(request.getAge());
+        
+        if (request.getGender() != null) {
+            try {
+                newUser.setGender(User.Gender.valueOf(request.getGender().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                // Invalid gender, leave as null
+            }
+        }
+        return newUser;
+    }
+    
     /**
      * NEW: Get bookings by phone number and NIC
      * 
      * USE CASE: Guest users checking their bookings
+     * READ-ONLY: BookingDTO rows come straight from the query (no Booking entities)
      */
+    @Transactional(readOnly = true)
     public List<BookingDTO> getBookingsByPhoneAndNic(String phoneNumber, String nic) {
         User user = userRepository.findByPhoneNumberAndNic(phoneNumber, nic)
             .orElseThrow(() -> new RuntimeException("No bookings found for this phone number and NIC"));
         
-        return bookingRepository.findByUserOrderByBookingTimeDesc(user)
-            .stream()
-            .map(mappingService::toBookingDTO)
-            .collect(Collectors.toList());
+        return bookingRepository.findBookingsByUser(user.getId());
     }
     
     /**
      * NEW: Get upcoming bookings by phone and NIC
      */
+    @Transactional(readOnly = true)
     public List<BookingDTO> getUpcomingBookingsByPhoneAndNic(String phoneNumber, String nic) {
         User user = userRepository.findByPhoneNumberAndNic(phoneNumber, nic)
             .orElseThrow(() -> new RuntimeException("No bookings found for this phone number and NIC"));
         
         LocalDate today = LocalDate.now();
-        return bookingRepository.findUpcomingBookingsByUser(user.getId(), today)
-            .stream()
-            .map(mappingService::toBookingDTO)
-            .collect(Collectors.toList());
+        return bookingRepository.findUpcomingBookingsByUser(user.getId(), today);
     }
     
     /**
      * Cancel booking - UPDATED to verify phone + NIC
+     * Retried like createBooking when the slot version moved underneath us
+     * 
+     * WAITLIST: the freed position goes to the head of the slot's waitlist
+     * in the same transaction (WaitlistService.promoteNext) - only when nobody
+     * is waiting is it given back to the slot.
      */
-    @Transactional
     public BookingDTO cancelBooking(Long bookingId, String phoneNumber, String nic) {
+        return retryExecutor.inTransaction(() -> cancel(bookingId, phoneNumber, nic));
+    }
+    
+    private BookingDTO cancel(Long bookingId, String phoneNumber, String nic) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
         
@@ -165,10 +198,14 @@ public class BookingService {
             throw new RuntimeException("Only confirmed bookings can be cancelled");
         }
         
-        // Free up the slot
+        // Promote the next waiting patient, or free up the slot
         Slot slot = booking.getSlot();
-        slot.cancelSlot();
-        slotRepository.save(slot);
+        if (!waitlistService.promoteNext(slot, booking.getAppointmentTime())) {
+            slot.cancelSlot();
+            slotRepository.saveAndFlush(slot); // flushed: the event carries the new version
+            slotCapacityLedger.release(slot);
+            eventPublisher.publishEvent(SlotCapacityChangedEvent.of(slot, slot.getCurrentBookings(), slot.getVersion()));
+        }
         
         // Update booking status
         booking.setStatus(Booking.BookingStatus.CANCELLED);
@@ -178,16 +215,15 @@ public class BookingService {
     }
     
     // Keep existing methods for backward compatibility
+    @Transactional(readOnly = true)
     public List<BookingDTO> getUserBookings(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return bookingRepository.findByUserOrderByBookingTimeDesc(user)
-            .stream()
-            .map(mappingService::toBookingDTO)
-            .collect(Collectors.toList());
+        return bookingRepository.findBookingsByUser(user.getId());
     }
     
+    @Transactional(readOnly = true)
     public BookingDTO getBookingById(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
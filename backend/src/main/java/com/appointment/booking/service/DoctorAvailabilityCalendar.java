@@ -0,0 +1,196 @@
+package com.appointment.booking.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.appointment.booking.dto.DisplayFormats;
+import com.appointment.booking.dto.DoctorAvailabilityDTO;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.SlotRepository.CalendarDay;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Doctor Availability Calendar
+ *
+ * WHY: The date picker asked for one date at a time - 90 slot queries to colour a
+ * 90-day calendar. GET /api/doctors/{id}/availability now answers the whole range
+ * from memory.
+ *
+ * HOW:
+ * - One calendar per doctor: remaining positions per day packed in a short[]
+ *   over a rolling window of booking.availability.window-days starting today
+ *   (90 days = 180 bytes per doctor)
+ * - Built with ONE range query over Slot (findCalendarDays) on first use
+ * - Kept current by SlotCapacityChangedEvent (bookings / cancellations, after commit):
+ *   the day's entry is replaced copy-on-write - readers never lock
+ * - Each day remembers the slot row version it reflects - an event older than that
+ *   (delivered out of order, or already in the loaded snapshot) is ignored
+ * - Dropped (rebuilt on next use) when slots are generated or deleted, when the
+ *   doctor changes, when the window rolls over at midnight, and at the latest after
+ *   booking.availability.max-age-minutes
+ *
+ * NOTE: Best effort like the live slot stream - booking still checks the slot itself.
+ *
+ * METRICS (/actuator/metrics):
+ * - doctors.availability.builds: calendars loaded from the database
+ */
+@Component
+public class DoctorAvailabilityCalendar {
+
+    /** Calendar value for a day without a session */
+    public static final short NO_SESSION = -1;
+
+    private final SlotRepository slotRepository;
+    private final DoctorRepository doctorRepository;
+    private final int windowDays;
+    private final Cache<Long, Calendar> calendars;
+    private final Counter builds;
+
+    public DoctorAvailabilityCalendar(SlotRepository slotRepository,
+            DoctorRepository doctorRepository,
+            MeterRegistry meterRegistry,
+            @Value("${booking.availability.window-days:90}") int windowDays,
+            @Value("${booking.availability.max-age-minutes:10}") long maxAgeMinutes,
+            @Value("${booking.availability.max-doctors:10000}") long maxDoctors) {
+        this.slotRepository = slotRepository;
+        this.doctorRepository = doctorRepository;
+        this.windowDays = windowDays;
+        // Age counts from the build - in-place updates don't extend it
+        Duration maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maxDoctors)
+                .expireAfter(Expiry.<Long, Calendar>creating((doctorId, calendar) -> maxAge))
+                .build();
+
+        this.builds = Counter.builder("doctors.availability.builds")
+                .description("Doctor availability calendars loaded from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remaining positions per day for [from, to]
+     *
+     * @param from defaults to today (earlier dates are moved up to today)
+     * @param to   defaults to the end of the window
+     *
+     * THROWS: IllegalArgumentException for a range outside the window,
+     *         RuntimeException when the doctor doesn't exist
+     */
+    public DoctorAvailabilityDTO getAvailability(Long doctorId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(windowDays - 1);
+        LocalDate start = from == null || from.isBefore(today) ? today : from;
+        LocalDate end = to == null ? lastDay : to;
+        if (end.isAfter(lastDay)) {
+            throw new IllegalArgumentException("Availability is only known up to " + lastDay.format(DisplayFormats.DATE));
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        Calendar calendar = calendarFor(doctorId, today);
+        int[] remaining = new int[(int) ChronoUnit.DAYS.between(start, end) + 1];
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = calendar.remaining(start.plusDays(i));
+        }
+        return new DoctorAvailabilityDTO(doctorId,
+                DisplayFormats.date(start), DisplayFormats.date(end), remaining);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(SlotCapacityChangedEvent event) {
+        short remaining = toShort(Math.max(0, event.getRemainingSlots()));
+        calendars.asMap().computeIfPresent(event.getDoctorId(),
+                (doctorId, calendar) -> calendar.with(event.getSlotDate(), remaining, event.getVersion()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(SlotScheduleChangedEvent event) {
+        calendars.invalidateAll(event.getDoctorIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        calendars.invalidateAll(event.getDoctorIds());
+    }
+
+    // ============ HELPERS ============
+
+    private Calendar calendarFor(Long doctorId, LocalDate today) {
+        Calendar calendar = calendars.get(doctorId, id -> build(id, today));
+        if (!calendar.origin.equals(today)) {
+            // Built yesterday - the window has moved
+            calendars.asMap().remove(doctorId, calendar);
+            calendar = calendars.get(doctorId, id -> build(id, today));
+        }
+        return calendar;
+    }
+
+    private Calendar build(Long doctorId, LocalDate today) {
+        if (doctorRepository.findById(doctorId).isEmpty()) {
+            throw new RuntimeException("Doctor not found with id: " + doctorId);
+        }
+        short[] days = new short[windowDays];
+        long[] versions = new long[windowDays];
+        Arrays.fill(days, NO_SESSION);
+        for (CalendarDay day : slotRepository.findCalendarDays(doctorId, today, today.plusDays(windowDays - 1))) {
+            int remaining = Boolean.TRUE.equals(day.getIsAvailable())
+                    ? Math.max(0, day.getMaxBookingsPerDay() - day.getCurrentBookings())
+                    : 0;
+            int index = (int) ChronoUnit.DAYS.between(today, day.getSlotDate());
+            days[index] = toShort(remaining);
+            versions[index] = day.getVersion();
+        }
+        builds.increment();
+        return new Calendar(today, days, versions);
+    }
+
+    private static short toShort(int value) {
+        return (short) Math.min(value, Short.MAX_VALUE);
+    }
+
+    /**
+     * Immutable - an update returns a new calendar
+     */
+    private static final class Calendar {
+        private final LocalDate origin;
+        private final short[] days;
+        /** Slot row version per day - the entry in days reflects it */
+        private final long[] versions;
+
+        private Calendar(LocalDate origin, short[] days, long[] versions) {
+            this.origin = origin;
+            this.days = days;
+            this.versions = versions;
+        }
+
+        private int remaining(LocalDate date) {
+            long index = ChronoUnit.DAYS.between(origin, date);
+            return index >= 0 && index < days.length ? days[(int) index] : NO_SESSION;
+        }
+
+        private Calendar with(LocalDate date, short remaining, long version) {
+            long index = ChronoUnit.DAYS.between(origin, date);
+            if (index < 0 || index >= days.length || version <= versions[(int) index]) {
+                return this;
+            }
+            short[] updated = days.clone();
+            long[] updatedVersions = versions.clone();
+            updated[(int) index] = remaining;
+            updatedVersions[(int) index] = version;
+            return new Calendar(origin, updated, updatedVersions);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.appointment.booking.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published when doctors are created, updated or deleted
+ *
+ * Listeners use @TransactionalEventListener, so they only see it
+ * once the change has committed. Deleted doctors are simply missing
+ * when listeners reload the ids.
+ */
+public class DoctorChangedEvent {
+
+    private final Set<Long> doctorIds;
+
+    public DoctorChangedEvent(Collection<Long> doctorIds) {
+        this.doctorIds = Set.copyOf(doctorIds);
+    }
+
+    public static DoctorChangedEvent of(Long doctorId) {
+        return new DoctorChangedEvent(Set.of(doctorId));
+    }
+
+    public Set<Long> getDoctorIds() {
+        return doctorIds;
+    }
+}
@@ -0,0 +1,166 @@
+package com.appointment.booking.service;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.repository.DoctorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Doctor Directory Snapshot
+ *
+ * WHY: GET /api/doctors (no filters) is called on every app launch.
+ * It used to load every doctor + hospital and map and serialize them per request.
+ *
+ * HOW:
+ * - Each doctor is serialized ONCE to its own JSON fragment
+ * - The snapshot is the fragments joined into one array, plus a SHA-256 ETag
+ * - Requests get the ready bytes (no Hibernate, no Jackson), or a 304
+ *   when If-None-Match matches
+ *
+ * UPDATES: On DoctorChangedEvent only the changed doctors are reloaded and
+ * re-serialized; a new immutable snapshot replaces the old one.
+ * Built lazily on the first request.
+ */
+@Component
+public class DoctorDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorDirectory.class);
+
+    private final DoctorRepository doctorRepository;
+    private final MappingService mappingService;
+    private final ObjectMapper objectMapper;
+
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot;
+
+    public DoctorDirectory(DoctorRepository doctorRepository,
+            MappingService mappingService,
+            ObjectMapper objectMapper) {
+        this.doctorRepository = doctorRepository;
+        this.mappingService = mappingService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Current snapshot (built on first use)
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (snapshot == null) {
+                NavigableMap<Long, byte[]> fragments = new TreeMap<>();
+                for (Doctor doctor : doctorRepository.findAll()) {
+                    fragments.put(doctor.getId(), serialize(doctor));
+                }
+                snapshot = new Snapshot(1, fragments);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Re-serialize only the doctors that changed
+     * fallbackExecution: also fires for writes made outside a transaction
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            try {
+                NavigableMap<Long, byte[]> fragments = new TreeMap<>(current.fragments);
+                fragments.keySet().removeAll(event.getDoctorIds());
+                for (Doctor doctor : doctorRepository.findAllById(event.getDoctorIds())) {
+                    fragments.put(doctor.getId(), serialize(doctor));
+                }
+                snapshot = new Snapshot(current.version + 1, fragments);
+            } catch (RuntimeException e) {
+                // Drop it - the next request rebuilds from the database
+                snapshot = null;
+                log.warn("Doctor directory update failed, snapshot will be rebuilt", e);
+            }
+        }
+    }
+
+    private byte[] serialize(Doctor doctor) {
+        try {
+            return objectMapper.writeValueAsBytes(mappingService.toDoctorDTO(doctor));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize doctor " + doctor.getId(), e);
+        }
+    }
+
+    /**
+     * Immutable directory version
+     * Doctors ordered by id; body is the JSON array GET /api/doctors returns
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final NavigableMap<Long, byte[]> fragments;
+        private final byte[] body;
+        private final String etag;
+
+        private Snapshot(long version, NavigableMap<Long, byte[]> fragments) {
+            this.version = version;
+            this.fragments = Collections.unmodifiableNavigableMap(fragments);
+
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            json.write('[');
+            boolean first = true;
+            for (byte[] fragment : fragments.values()) {
+                if (!first) {
+                    json.write(',');
+                }
+                json.writeBytes(fragment);
+                first = false;
+            }
+            json.write(']');
+            this.body = json.toByteArray();
+            this.etag = "\"" + hash(body) + "\"";
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getSize() {
+            return fragments.size();
+        }
+
+        /** Shared array - must not be modified */
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        private static String hash(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.appointment.booking.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.DoctorRepository.DoctorName;
+
+/**
+ * Doctor Name Index
+ *
+ * WHY: Slot search by name used LOWER(d.name) LIKE '%query%', which no B-tree index
+ * can serve - every keystroke of search-as-you-type scanned doctors joined to slots.
+ *
+ * HOW (trigram inverted index, in memory):
+ * - "fernando" -> "fer", "ern", "rna", "nan", "and", "ndo"
+ * - Each trigram maps to the ids of doctors whose (lower-case) name contains it
+ * - A query's candidates = intersection of its trigrams' id sets,
+ *   then confirmed with contains() -> same matches as LIKE '%query%'
+ * - Queries shorter than 3 characters scan the names directly
+ *
+ * UPDATES: DoctorChangedEvent (after commit) re-indexes only the changed doctors.
+ * Built lazily on the first search.
+ */
+@Component
+public class DoctorNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorNameIndex.class);
+
+    private static final int GRAM = 3;
+
+    private final DoctorRepository doctorRepository;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    public DoctorNameIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * Ids of doctors whose name contains the query (case-insensitive)
+     */
+    public Set<Long> search(String query) {
+        ensureBuilt();
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<Long> candidates;
+        if (needle.length() < GRAM) {
+            candidates = names.keySet();
+        } else {
+            candidates = null;
+            for (String gram : grams(needle)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                if (candidates == null) {
+                    candidates = ids;
+                } else if (ids.size() < candidates.size()) {
+                    candidates = intersect(ids, candidates);
+                } else {
+                    candidates = intersect(candidates, ids);
+                }
+            }
+        }
+
+        Set<Long> matches = new HashSet<>();
+        for (Long id : candidates) {
+            String name = names.get(id);
+            if (name != null && name.contains(needle)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDoctorChanged(DoctorChangedEvent event) {
+        if (!built) {
+            return;
+        }
+        try {
+            event.getDoctorIds().forEach(this::remove);
+            doctorRepository.findNamesByIdIn(event.getDoctorIds()).forEach(this::add);
+        } catch (RuntimeException e) {
+            // Start over - the next search rebuilds from the database
+            names.clear();
+            postings.clear();
+            built = false;
+            log.warn("Doctor name index update failed, index will be rebuilt", e);
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        synchronized (this) {
+            if (!built) {
+                doctorRepository.findAllNames().forEach(this::add);
+                built = true;
+            }
+        }
+    }
+
+    private void add(DoctorName doctor) {
+        String name = normalize(doctor.getName());
+        names.put(doctor.getId(), name);
+        for (String gram : grams(name)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(doctor.getId());
+        }
+    }
+
+    private void remove(Long doctorId) {
+        String name = names.remove(doctorId);
+        if (name == null) {
+            return;
+        }
+        for (String gram : grams(name)) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(doctorId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<Long> intersect(Set<Long> smaller, Set<Long> larger) {
+        Set<Long> result = new HashSet<>();
+        for (Long id : smaller) {
+            if (larger.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
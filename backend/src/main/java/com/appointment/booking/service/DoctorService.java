@@ -5,6 +5,7 @@ import com.appointment.booking.entity.Doctor;
 import com.appointment.booking.entity.Hospital;
 import com.appointment.booking.repository.DoctorRepository;
 import com.appointment.booking.repository.HospitalRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,23 +24,16 @@ public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final HospitalRepository hospitalRepository;
     private final MappingService mappingService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public DoctorService(DoctorRepository doctorRepository,
                         HospitalRepository hospitalRepository,
-                        MappingService mappingService) {
+                        MappingService mappingService,
+                        ApplicationEventPublisher eventPublisher) {
         this.doctorRepository = doctorRepository;
         this.hospitalRepository = hospitalRepository;
         this.mappingService = mappingService;
-    }
-    
-    /**
-     * Get all doctors
-     */
-    public List<DoctorDTO> getAllDoctors() {
-        return doctorRepository.findAll()
-            .stream()
-            .map(mappingService::toDoctorDTO)
-            .collect(Collectors.toList());
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -133,6 +127,7 @@ public class DoctorService {
         );
         
         Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.of(savedDoctor.getId()));
         return mappingService.toDoctorDTO(savedDoctor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.appointment.booking.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.appointment.booking.dto.DisplayFormats;
+import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.repository.SlotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Earliest Slot Index
+ *
+ * WHY: "The soonest Cardiology appointment anywhere" meant calling
+ * searchBySpecializationAndDate for today, tomorrow, ... until something turned up -
+ * 14+ queries for a busy specialization. Now it's one walk of a sorted set.
+ *
+ * HOW (per specialization, in memory):
+ * - Every slot from today to booking.earliest.horizon-days ahead, loaded with ONE query
+ * - Open slots sit in a sorted set ordered by (slotDate, nextAvailableTime, id)
+ *   - the head of the set is the soonest opening
+ * - Top-k = walk from the head, skipping other hospitals / cities, stop after k
+ *
+ * UPDATES: SlotCapacityChangedEvent (after commit) moves the slot to its new
+ * nextAvailableTime, drops it when full, puts it back on a cancellation.
+ * Each slot remembers the row version it reflects - events with an older version
+ * (delivered late, or already in the loaded snapshot) are ignored.
+ * Slot generation / deletion and doctor changes drop the whole index (rebuilt on
+ * next use), and each index is rebuilt at the latest after booking.earliest.max-age-minutes.
+ *
+ * METRICS (/actuator/metrics):
+ * - slots.earliest.builds: specialization indexes loaded from the database
+ */
+@Component
+public class EarliestSlotIndex {
+
+    public static final int MAX_RESULTS = 20;
+
+    private static final Comparator<Opening> SOONEST_FIRST = Comparator
+            .comparing((Opening opening) -> opening.slotDate)
+            .thenComparing(opening -> opening.nextAvailableTime)
+            .thenComparing(opening -> opening.slot.getId());
+
+    private final SlotRepository slotRepository;
+    private final int horizonDays;
+    private final Cache<String, SpecializationIndex> indexes;
+    private final Counter builds;
+
+    public EarliestSlotIndex(SlotRepository slotRepository,
+            MeterRegistry meterRegistry,
+            @Value("${booking.earliest.horizon-days:60}") int horizonDays,
+            @Value("${booking.earliest.max-age-minutes:10}") long maxAgeMinutes,
+            @Value("${booking.earliest.max-specializations:200}") long maxSpecializations) {
+        this.slotRepository = slotRepository;
+        this.horizonDays = horizonDays;
+        // Age counts from the build - in-place updates don't extend it
+        Duration maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxSpecializations)
+                .expireAfter(Expiry.<String, SpecializationIndex>creating((key, index) -> maxAge))
+                .build();
+
+        this.builds = Counter.builder("slots.earliest.builds")
+                .description("Earliest-slot indexes loaded from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The soonest open slots of a specialization, soonest first
+     *
+     * @param city       optional - only hospitals in this city (case-insensitive)
+     * @param hospitalId optional - only this hospital
+     * @param limit      1..MAX_RESULTS
+     */
+    public List<SlotDTO> findEarliest(String specialization, String city, Long hospitalId, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_RESULTS));
+        LocalDate today = LocalDate.now();
+        SpecializationIndex index = indexes.get(key(specialization), this::build);
+
+        List<SlotDTO> result = new ArrayList<>(max);
+        Set<Long> seen = new HashSet<>();
+        for (Opening opening : index.open) {
+            if (opening.slotDate.isBefore(today) || !opening.matches(city, hospitalId)) {
+                continue;
+            }
+            // A slot being moved can briefly be in the set twice - return it once
+            if (seen.add(opening.slot.getId())) {
+                result.add(opening.slot);
+                if (result.size() == max) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(SlotCapacityChangedEvent event) {
+        if (event.getSpecialization() == null) {
+            return;
+        }
+        // Waits for an index still being built, so the change isn't lost
+        indexes.asMap().computeIfPresent(key(event.getSpecialization()), (key, index) -> {
+            index.update(event);
+            return index;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(SlotScheduleChangedEvent event) {
+        indexes.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        indexes.invalidateAll(); // specialization or hospital may have changed
+    }
+
+    // ============ HELPERS ============
+
+    private SpecializationIndex build(String specialization) {
+        LocalDate today = LocalDate.now();
+        SpecializationIndex index = new SpecializationIndex();
+        for (Object[] row : slotRepository.findBySpecializationBetween(specialization, today,
+                today.plusDays(horizonDays - 1))) {
+            index.put(new Opening((SlotDTO) row[0], (Long) row[1]));
+        }
+        builds.increment();
+        return index;
+    }
+
+    private static String key(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class SpecializationIndex {
+        /** Every indexed slot, open or full */
+        private final ConcurrentHashMap<Long, Opening> bySlot = new ConcurrentHashMap<>();
+        /** Open slots, soonest first */
+        private final ConcurrentSkipListSet<Opening> open = new ConcurrentSkipListSet<>(SOONEST_FIRST);
+
+        private void put(Opening opening) {
+            bySlot.put(opening.slot.getId(), opening);
+            if (opening.isOpen()) {
+                open.add(opening);
+            }
+        }
+
+        private void update(SlotCapacityChangedEvent event) {
+            // compute: changes to the same slot apply one at a time
+            bySlot.computeIfPresent(event.getSlotId(), (slotId, current) -> {
+                if (event.getVersion() <= current.version) {
+                    return current; // older than what the index already shows
+                }
+                Opening updated = current.withBookings(event.getCurrentBookings(), event.getMaxBookingsPerDay(),
+                        event.getVersion());
+                if (SOONEST_FIRST.compare(updated, current) == 0) {
+                    // Same position in the set (count unchanged) - swap in place
+                    open.remove(current);
+                    if (updated.isOpen()) {
+                        open.add(updated);
+                    }
+                    return updated;
+                }
+                // Add before remove - readers never miss an open slot
+                if (updated.isOpen()) {
+                    open.add(updated);
+                }
+                open.remove(current);
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * Immutable view of one slot - an update replaces it
+     */
+    private static final class Opening {
+        private final SlotDTO slot;
+        private final LocalDate slotDate;
+        private final LocalTime nextAvailableTime;
+        /** Slot row version this view reflects */
+        private final long version;
+
+        private Opening(SlotDTO slot, long version) {
+            this.slot = slot;
+            this.version = version;
+            this.slotDate = LocalDate.parse(slot.getSlotDate(), DisplayFormats.DATE);
+            this.nextAvailableTime = LocalTime.parse(slot.getNextAvailableTime(), DisplayFormats.TIME);
+        }
+
+        private boolean isOpen() {
+            return Boolean.TRUE.equals(slot.getIsAvailable()) && slot.getRemainingSlots() > 0;
+        }
+
+        private boolean matches(String city, Long hospitalId) {
+            return (hospitalId == null || hospitalId.equals(slot.getHospital().getId()))
+                    && (city == null || city.equalsIgnoreCase(slot.getHospital().getCity()));
+        }
+
+        private Opening withBookings(int currentBookings, int maxBookingsPerDay, long version) {
+            return new Opening(new SlotDTO(
+                    slot.getId(),
+                    slotDate,
+                    LocalTime.parse(slot.getConsultationStartTime(), DisplayFormats.TIME),
+                    maxBookingsPerDay,
+                    currentBookings,
+                    slot.getMinutesPerPatient(),
+                    currentBookings < maxBookingsPerDay,
+                    slot.getDoctor().getId(),
+                    slot.getDoctor().getName(),
+                    slot.getDoctor().getSpecialization(),
+                    slot.getHospital().getId(),
+                    slot.getHospital().getName(),
+                    slot.getHospital().getAddress(),
+                    slot.getHospital().getCity(),
+                    slot.getHospital().getPhoneNumber()),
+                    version);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.appointment.booking.service;
 
+import com.appointment.booking.config.CacheConfig;
 import com.appointment.booking.dto.HospitalDTO;
 import com.appointment.booking.entity.Hospital;
 import com.appointment.booking.repository.HospitalRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -48,7 +51,9 @@ public class HospitalService {
      * 4. Collect into a new list
      * 
      * WHY STREAM: Functional programming - clean, readable transformations
+     * CACHED: see CacheConfig
      */
+    @Cacheable(CacheConfig.HOSPITALS)
     public List<HospitalDTO> getAllHospitals() {
         return hospitalRepository.findAll()           // List<Hospital>
             .stream()                                  // Stream<Hospital>
@@ -108,6 +113,7 @@ public class HospitalService {
      * 
      * WHY save returns entity: Database generates the ID
      */
+    @CacheEvict(cacheNames = CacheConfig.HOSPITALS, allEntries = true)
     public HospitalDTO createHospital(HospitalDTO hospitalDTO) {
         Hospital hospital = new Hospital(
             null,  // ID is null - database will generate it
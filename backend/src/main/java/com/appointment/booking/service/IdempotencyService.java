@@ -0,0 +1,309 @@
+package com.appointment.booking.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Idempotency Service
+ *
+ * WHY: Mobile clients on flaky networks resend POST /api/bookings when a response
+ * gets lost. Without a key every resend books (and uses up) another position.
+ *
+ * FLOW (per Idempotency-Key):
+ * 1. Memory: recent completed keys (Caffeine, bounded, TTL) -> replay, no DB at all
+ * 2. Claim: INSERT ... ON CONFLICT DO NOTHING (auto-commit, one statement)
+ *    - lost the claim: completed -> replay the stored response
+ *                      still running on another request/node -> IN_PROGRESS (409)
+ *                      same key, different body -> KEY_REUSED (422)
+ * 3. Run the work and store its response IN THE SAME TRANSACTION - a stored
+ *    response means the booking committed, and vice versa. The transaction first
+ *    locks the claim row (SELECT ... FOR UPDATE) and checks it is still ours
+ * 4. Work failed: the claim is dropped, so the client can retry with the same key
+ *
+ * REPLAY FIRST: findReplay answers a resend from steps 1-2 alone, so callers can
+ * serve it before charging per-patient rate limits - a retry isn't a new attempt.
+ *
+ * Only successful responses are stored - a failed booking consumed nothing.
+ * CRASH SAFETY: a claim left behind by a crashed request (never completed) is taken
+ * over after booking.idempotency.in-progress-timeout-ms. Age alone doesn't prove a
+ * crash - a slow booking can still be running - so the takeover skips claims whose
+ * row is locked (FOR UPDATE SKIP LOCKED): a running work transaction holds that lock.
+ * A claim taken over before its owner's transaction started is noticed by the owner
+ * (created_at is the claim's token and has changed) - it backs off with IN_PROGRESS.
+ *
+ * METRICS (/actuator/metrics):
+ * - booking.idempotency.requests, tagged outcome=executed|replayed|in_progress|key_reused
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    public enum Result {
+        /** First time - the work ran */
+        EXECUTED,
+        /** Seen before - the stored response, the work did NOT run */
+        REPLAYED,
+        /** The first request with this key hasn't finished yet */
+        IN_PROGRESS,
+        /** The key was already used for a different request */
+        KEY_REUSED
+    }
+
+    public record Outcome(Result result, int status, String body) {
+    }
+
+    private record StoredResponse(String requestHash, int status, String body) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Cache<String, StoredResponse> recent;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter inProgress;
+    private final Counter keyReused;
+
+    public IdempotencyService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${booking.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${booking.idempotency.in-progress-timeout-ms:30000}") long inProgressTimeoutMs,
+            @Value("${booking.idempotency.cache-size:10000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressTimeout = Duration.ofMillis(inProgressTimeoutMs);
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.executed = outcomeCounter(meterRegistry, "executed");
+        this.replayed = outcomeCounter(meterRegistry, "replayed");
+        this.inProgress = outcomeCounter(meterRegistry, "in_progress");
+        this.keyReused = outcomeCounter(meterRegistry, "key_reused");
+    }
+
+    /**
+     * The stored response for a completed key - empty if the key is new or still running
+     *
+     * Cheap check for resends: memory, then one SELECT. execute() still does the
+     * full claim handling for everything not answered here.
+     */
+    public Optional<Outcome> findReplay(String key, Object request) {
+        checkKey(key);
+        StoredResponse stored = recent.getIfPresent(key);
+        if (stored == null) {
+            stored = findCompleted(key);
+            if (stored == null) {
+                return Optional.empty();
+            }
+            recent.put(key, stored);
+        }
+        return Optional.of(replay(stored, hash(request)));
+    }
+
+    /**
+     * Run work at most once per key
+     *
+     * @param request       the request body - a different body under the same key is rejected
+     * @param successStatus HTTP status stored (and replayed) with the result
+     * @param work          runs inside a transaction; its result is stored as JSON
+     *
+     * IMPORTANT: Must be called OUTSIDE any transaction (the claim has to be visible
+     * to concurrent duplicates before the work starts).
+     */
+    public Outcome execute(String key, Object request, int successStatus, Supplier<?> work) {
+        checkKey(key);
+        String requestHash = hash(request);
+        // Identifies this request's claim - a takeover always writes a later one
+        Timestamp claimedAt = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        StoredResponse cached = recent.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        if (!claim(key, requestHash, claimedAt)) {
+            StoredResponse stored = findCompleted(key);
+            if (stored != null) {
+                recent.put(key, stored);
+                return replay(stored, requestHash);
+            }
+            String claimedHash = findClaimHash(key);
+            if (claimedHash != null && !claimedHash.equals(requestHash)) {
+                keyReused.increment();
+                return new Outcome(Result.KEY_REUSED, 422, HEADER + " was already used for a different request");
+            }
+            // No row: the first request failed and dropped its claim in the meantime
+            boolean claimed = claimedHash == null
+                    ? claim(key, requestHash, claimedAt)
+                    : takeOverStaleClaim(key, requestHash, claimedAt);
+            if (!claimed) {
+                return inProgressOutcome();
+            }
+        }
+
+        String body;
+        try {
+            body = transactionTemplate.execute(status -> {
+                if (!lockClaim(key, claimedAt)) {
+                    return null; // taken over while we waited to start - the other request owns it
+                }
+                String json = toJson(work.get());
+                jdbcTemplate.update("UPDATE idempotency_keys SET status_code = ?, response_body = ?, completed_at = ? " +
+                        "WHERE idempotency_key = ?", successStatus, json, Timestamp.valueOf(LocalDateTime.now()), key);
+                return json;
+            });
+        } catch (RuntimeException e) {
+            // Nothing was committed - let the client retry with the same key.
+            // In a transaction of its own: under open-in-view it runs on the connection the
+            // request already holds - a bare JdbcTemplate call would borrow a second one
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at = ? " +
+                    "AND completed_at IS NULL", key, claimedAt));
+            throw e;
+        }
+        if (body == null) {
+            return inProgressOutcome();
+        }
+
+        recent.put(key, new StoredResponse(requestHash, successStatus, body));
+        executed.increment();
+        return new Outcome(Result.EXECUTED, successStatus, body);
+    }
+
+    /**
+     * Drop keys older than the TTL (the in-memory copies expire on their own)
+     */
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+    }
+
+    // ============ HELPERS ============
+
+    private static void checkKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException(HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private Outcome replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            keyReused.increment();
+            return new Outcome(Result.KEY_REUSED, 422, HEADER + " was already used for a different request");
+        }
+        replayed.increment();
+        return new Outcome(Result.REPLAYED, stored.status(), stored.body());
+    }
+
+    private Outcome inProgressOutcome() {
+        inProgress.increment();
+        return new Outcome(Result.IN_PROGRESS, 409,
+                "A request with this " + HEADER + " is still being processed - please retry shortly");
+    }
+
+    private boolean claim(String key, String requestHash, Timestamp claimedAt) {
+        return jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at) " +
+                "VALUES (?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING",
+                key, requestHash, claimedAt) == 1;
+    }
+
+    /**
+     * Take over an old, unfinished claim - unless its owner's work transaction is running
+     *
+     * SKIP LOCKED: the owner holds the row lock (lockClaim) until it commits or rolls
+     * back, so a locked claim is alive however old it is - it's left alone.
+     */
+    private boolean takeOverStaleClaim(String key, String requestHash, Timestamp claimedAt) {
+        Timestamp staleBefore = Timestamp.valueOf(claimedAt.toLocalDateTime().minus(inProgressTimeout));
+        return jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? " +
+                "WHERE idempotency_key = (SELECT idempotency_key FROM idempotency_keys " +
+                "WHERE idempotency_key = ? AND request_hash = ? AND completed_at IS NULL AND created_at < ? " +
+                "FOR UPDATE SKIP LOCKED)",
+                claimedAt, key, requestHash, staleBefore) == 1;
+    }
+
+    /**
+     * Lock our claim for the rest of the work transaction
+     * RETURNS: false if the claim is no longer ours (taken over, or dropped)
+     */
+    private boolean lockClaim(String key, Timestamp claimedAt) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM idempotency_keys " +
+                "WHERE idempotency_key = ? AND created_at = ? AND completed_at IS NULL FOR UPDATE",
+                Integer.class, key, claimedAt).isEmpty();
+    }
+
+    private StoredResponse findCompleted(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query("SELECT request_hash, status_code, response_body " +
+                "FROM idempotency_keys WHERE idempotency_key = ? AND completed_at IS NOT NULL",
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3)), key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private String findClaimHash(String key) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT request_hash FROM idempotency_keys WHERE idempotency_key = ?", String.class, key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("booking.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,26 +1,23 @@
 package com.appointment.booking.service;
 
-import java.time.format.DateTimeFormatter;
-
 import org.springframework.stereotype.Service;
 
 import com.appointment.booking.dto.BookingDTO;
+import com.appointment.booking.dto.DisplayFormats;
 import com.appointment.booking.dto.DoctorDTO;
 import com.appointment.booking.dto.DoctorSummaryDTO;
 import com.appointment.booking.dto.HospitalDTO;
 import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.dto.WaitlistEntryDTO;
 import com.appointment.booking.entity.Booking;
 import com.appointment.booking.entity.Doctor;
 import com.appointment.booking.entity.Hospital;
 import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.WaitlistEntry;
 
 @Service
 public class MappingService {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
     public HospitalDTO toHospitalDTO(Hospital hospital) {
         if (hospital == null) return null;
         return new HospitalDTO(
@@ -59,10 +56,10 @@ public class MappingService {
         
         return new SlotDTO(
             slot.getId(),
-            slot.getSlotDate().format(DATE_FORMATTER),
-            slot.getConsultationStartTime().format(TIME_FORMATTER),
-            slot.getNextAvailableTime().format(TIME_FORMATTER),      // NEW
-            slot.getEstimatedEndTime().format(TIME_FORMATTER),       // NEW
+            DisplayFormats.date(slot.getSlotDate()),
+            DisplayFormats.time(slot.getConsultationStartTime()),
+            DisplayFormats.time(slot.getNextAvailableTime()),      // NEW
+            DisplayFormats.time(slot.getEstimatedEndTime()),       // NEW
             slot.getMaxBookingsPerDay(),
             slot.getCurrentBookings(),
             slot.getRemainingSlots(),                                 // NEW
@@ -85,13 +82,36 @@ public class MappingService {
 
         return new BookingDTO(
                 booking.getId(),
-                booking.getBookingTime().format(DATETIME_FORMATTER),
+                booking.getBookingTime().format(DisplayFormats.DATETIME),
                 booking.getStatus().toString(),
                 booking.getPatientNotes(),
                 booking.getAmountPaid(),
-                slot.getSlotDate().format(DATE_FORMATTER),
-                booking.getAppointmentTime().format(TIME_FORMATTER),  // UPDATED: Use stored time
+                DisplayFormats.date(slot.getSlotDate()),
+                DisplayFormats.time(booking.getAppointmentTime()),  // UPDATED: Use stored time
                 toDoctorSummaryDTO(doctor),
                 toHospitalDTO(hospital));
     }
-}
\ No newline at end of file
+
+    /**
+     * Waitlist entry - position is only known (and only meaningful) while WAITING
+     */
+    public WaitlistEntryDTO toWaitlistEntryDTO(WaitlistEntry entry, Integer position) {
+        if (entry == null) return null;
+
+        Slot slot = entry.getSlot();
+        Doctor doctor = slot.getDoctor();
+
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setId(entry.getId());
+        dto.setStatus(entry.getStatus().toString());
+        dto.setPosition(position);
+        dto.setBookingId(entry.getBooking() != null ? entry.getBooking().getId() : null);
+        dto.setJoinedAt(entry.getJoinedAt().format(DisplayFormats.DATETIME));
+        dto.setSlotId(slot.getId());
+        dto.setAppointmentDate(DisplayFormats.date(slot.getSlotDate()));
+        dto.setDoctorName(doctor.getName());
+        dto.setSpecialization(doctor.getSpecialization());
+        dto.setHospitalName(doctor.getHospital().getName());
+        return dto;
+    }
+}
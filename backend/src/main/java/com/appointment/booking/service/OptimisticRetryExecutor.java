@@ -0,0 +1,151 @@
+package com.appointment.booking.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Optimistic Retry Executor
+ *
+ * WHY: Slot is versioned (@Version). Under contention, concurrent cancel
+ * transactions fail with OptimisticLockingFailureException instead of losing a count.
+ * This runs the transaction again - each attempt in a FRESH transaction.
+ *
+ * USED BY: cancellations only (BookingService.cancelBooking, AdminService.cancelBooking).
+ * Bookings reserve with one conditional UPDATE (SlotRepository.reserveBooking) - they
+ * can't lose an optimistic lock, so they never go through here.
+ *
+ * SAFEGUARDS:
+ * - Bounded attempts (booking.retry.max-attempts)
+ * - Jittered exponential backoff, so losers don't collide again on the same tick
+ * - Retry budget: every call earns a fraction of a retry, every retry spends one.
+ *   During a conflict storm the budget runs dry and we fail fast instead of
+ *   multiplying load on a hot slot.
+ *
+ * METRICS (/actuator/metrics):
+ * - booking.cancel.tx.attempts / booking.cancel.tx.conflicts -> conflict rate
+ * - booking.cancel.tx.retries (summary per call)              -> retries per cancellation
+ * - booking.cancel.tx.budget.exhausted
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    /** Budget is kept in 1/100ths of a retry to stay on integer arithmetic */
+    private static final long UNITS_PER_RETRY = 100;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final long depositPerCall;
+    private final long maxBudget;
+    private final AtomicLong budget;
+
+    private final Counter attempts;
+    private final Counter conflicts;
+    private final Counter budgetExhausted;
+    private final DistributionSummary retriesPerCall;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${booking.retry.max-attempts:5}") int maxAttempts,
+            @Value("${booking.retry.base-backoff-ms:5}") long baseBackoffMs,
+            @Value("${booking.retry.max-backoff-ms:100}") long maxBackoffMs,
+            @Value("${booking.retry.budget-ratio:0.2}") double budgetRatio,
+            @Value("${booking.retry.budget-min-retries:20}") int budgetMinRetries) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.depositPerCall = Math.round(budgetRatio * UNITS_PER_RETRY);
+        this.maxBudget = budgetMinRetries * UNITS_PER_RETRY;
+        this.budget = new AtomicLong(maxBudget);
+
+        this.attempts = Counter.builder("booking.cancel.tx.attempts")
+                .description("Cancellation transaction attempts, including retries")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("booking.cancel.tx.conflicts")
+                .description("Cancellation attempts that lost an optimistic lock")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("booking.cancel.tx.budget.exhausted")
+                .description("Conflicts not retried because the retry budget was empty")
+                .register(meterRegistry);
+        this.retriesPerCall = DistributionSummary.builder("booking.cancel.tx.retries")
+                .description("Retries needed per cancellation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run work in its own transaction, retrying on optimistic lock conflicts
+     *
+     * IMPORTANT: Must be called OUTSIDE any transaction - a retry inside a
+     * rolled-back outer transaction would be pointless.
+     */
+    public <T> T inTransaction(Supplier<T> work) {
+        deposit();
+        int retries = 0;
+        try {
+            while (true) {
+                attempts.increment();
+                try {
+                    return transactionTemplate.execute(status -> work.get());
+                } catch (OptimisticLockingFailureException e) {
+                    conflicts.increment();
+                    if (retries + 1 >= maxAttempts) {
+                        throw e;
+                    }
+                    if (!withdraw()) {
+                        budgetExhausted.increment();
+                        throw e;
+                    }
+                    retries++;
+                    backoff(retries);
+                }
+            }
+        } finally {
+            retriesPerCall.record(retries);
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private void deposit() {
+        budget.getAndUpdate(b -> Math.min(maxBudget, b + depositPerCall));
+    }
+
+    private boolean withdraw() {
+        while (true) {
+            long current = budget.get();
+            if (current < UNITS_PER_RETRY) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - UNITS_PER_RETRY)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * "Full jitter": sleep a random time in [0, min(max, base * 2^retry))
+     */
+    private void backoff(int retry) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(retry, 16));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying booking", e);
+        }
+    }
+}
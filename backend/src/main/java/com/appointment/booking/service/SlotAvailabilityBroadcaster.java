@@ -0,0 +1,366 @@
+package com.appointment.booking.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.appointment.booking.dto.DisplayFormats;
+import com.appointment.booking.dto.SlotCapacityDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Slot Availability Broadcaster
+ *
+ * WHY: The app re-fetched /api/slots/search every few seconds to show remaining
+ * tokens - a full DB query per refresh per user, peaking exactly when bookings open.
+ * Now it loads the list once and GET /api/slots/stream pushes the changes.
+ *
+ * FLOW:
+ * 1. Booking / cancel paths publish SlotCapacityChangedEvent - delivered here after commit
+ * 2. Changes are coalesced per slot for booking.slots.stream.coalesce-ms
+ *    (30 bookings in a burst -> one update with the latest count). "Latest" is the
+ *    highest slot version, not the last event to arrive - after-commit listeners of
+ *    concurrent transactions run in any order. A version older than one already
+ *    broadcast is dropped, so a client never sees a count go back in time.
+ * 3. One sender thread serializes each update ONCE and queues the same frame for every
+ *    matching subscriber - no database access, no per-subscriber JSON
+ * 4. Writer threads (booking.slots.stream.writer-threads) drain the queues - each
+ *    subscriber is written by one writer at a time, in order
+ *
+ * SLOW CLIENTS: A write blocks while the client's TCP window is full. Only that
+ * subscriber's writer waits; the others keep going. Its queue is bounded
+ * (booking.slots.stream.queue-size) - once full, the subscriber is dropped and the
+ * client reconnects (and reloads the list) like after any other disconnect.
+ *
+ * FAN-OUT: Subscribers are indexed by date (the filter every screen has), so an update
+ * only visits subscribers of its date plus the "all dates" ones; specialization /
+ * doctor filters are checked on those. SSE connections are async - they hold no
+ * request thread, no DB bulkhead permit and no connection.
+ *
+ * NOTE: Updates are best effort - a client that reconnects (EventSource does this
+ * automatically) should reload the list before applying new updates.
+ *
+ * METRICS (/actuator/metrics):
+ * - slots.stream.subscribers: open connections
+ * - slots.stream.updates: capacity updates broadcast (after coalescing)
+ * - slots.stream.messages: frames written to subscribers
+ * - slots.stream.dropped: subscribers closed because their queue was full
+ */
+@Component
+public class SlotAvailabilityBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotAvailabilityBroadcaster.class);
+
+    private static final String EVENT_NAME = "capacity";
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final long coalesceMs;
+    private final int queueSize;
+    private final ScheduledExecutorService sender;
+    private final ExecutorService writers;
+
+    /** Subscribers by slot date; subscribers without a date filter */
+    private final ConcurrentHashMap<LocalDate, Set<Subscriber>> byDate = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allDates = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    /** Latest change per slot since the last flush */
+    private final ConcurrentHashMap<Long, SlotCapacityChangedEvent> pending = new ConcurrentHashMap<>();
+    /** Last version broadcast per slot - late, older events are dropped */
+    private final Cache<Long, Long> broadcastVersions = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Counter updates;
+    private final Counter messages;
+    private final Counter dropped;
+
+    public SlotAvailabilityBroadcaster(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${booking.slots.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${booking.slots.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${booking.slots.stream.coalesce-ms:200}") long coalesceMs,
+            @Value("${booking.slots.stream.queue-size:32}") int queueSize,
+            @Value("${booking.slots.stream.writer-threads:8}") int writerThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.coalesceMs = coalesceMs;
+        this.queueSize = queueSize;
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "slot-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "slot-stream-writer-" + writerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("slots.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open slot availability streams")
+                .register(meterRegistry);
+        this.updates = Counter.builder("slots.stream.updates")
+                .description("Slot capacity updates broadcast (after coalescing)")
+                .register(meterRegistry);
+        this.messages = Counter.builder("slots.stream.messages")
+                .description("Frames written to slot availability subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("slots.stream.dropped")
+                .description("Slot availability subscribers closed because they fell behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of capacity updates - every filter is optional
+     *
+     * THROWS: RuntimeException when booking.slots.stream.max-subscribers are already open
+     */
+    public SseEmitter subscribe(LocalDate date, String specialization, Long doctorId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RuntimeException("Too many live subscribers - please try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, date, specialization, doctorId, queueSize);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        if (date == null) {
+            allDates.add(subscriber);
+        } else {
+            byDate.compute(date, (d, group) -> {
+                Set<Subscriber> subscribers = group != null ? group : ConcurrentHashMap.newKeySet();
+                subscribers.add(subscriber);
+                return subscribers;
+            });
+        }
+
+        // Commits the response headers, so the client sees the stream open right away
+        send(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(SlotCapacityChangedEvent event) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        pending.merge(event.getSlotId(), event, SlotCapacityChangedEvent::newer);
+        if (flushScheduled.compareAndSet(false, true)) {
+            sender.schedule(this::flush, coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies / load balancers
+     */
+    @Scheduled(fixedDelayString = "${booking.slots.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        sender.execute(() -> {
+            Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+            allDates.forEach(subscriber -> send(subscriber, frame));
+            byDate.values().forEach(group -> group.forEach(subscriber -> send(subscriber, frame)));
+        });
+    }
+
+    /**
+     * Close the streams BEFORE the web server stops - graceful shutdown would
+     * otherwise wait for these never-ending requests until its timeout
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        allDates.forEach(subscriber -> subscriber.emitter.complete());
+        byDate.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    // ============ HELPERS ============
+
+    private void flush() {
+        flushScheduled.set(false);
+        for (Long slotId : pending.keySet()) {
+            SlotCapacityChangedEvent event = pending.remove(slotId);
+            if (event == null) {
+                continue;
+            }
+            // Only the sender thread flushes - check-then-put is safe
+            Long sent = broadcastVersions.getIfPresent(slotId);
+            if (sent == null || event.getVersion() > sent) {
+                broadcastVersions.put(slotId, event.getVersion());
+                broadcast(event);
+            }
+        }
+    }
+
+    private void broadcast(SlotCapacityChangedEvent event) {
+        Set<Subscriber> dated = byDate.get(event.getSlotDate());
+        if ((dated == null || dated.isEmpty()) && allDates.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(toDTO(event)), MediaType.TEXT_PLAIN)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize capacity update for slot {}", event.getSlotId(), e);
+            return;
+        }
+        updates.increment();
+
+        if (dated != null) {
+            dated.forEach(subscriber -> sendIfMatches(subscriber, event, frame));
+        }
+        allDates.forEach(subscriber -> sendIfMatches(subscriber, event, frame));
+    }
+
+    private void sendIfMatches(Subscriber subscriber, SlotCapacityChangedEvent event, Set<DataWithMediaType> frame) {
+        if (subscriber.matches(event)) {
+            send(subscriber, frame);
+        }
+    }
+
+    /**
+     * Queue a frame for the subscriber - never blocks the caller
+     */
+    private void send(Subscriber subscriber, Set<DataWithMediaType> frame) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(frame)) {
+            // Fell behind - its writer is stuck in a send and completes the emitter once that returns
+            dropped.increment();
+            unsubscribe(subscriber);
+            subscriber.queue.clear();
+            return;
+        }
+        if (subscriber.writing.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Write the subscriber's queued frames - at most one drain per subscriber at a time
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> frame;
+            while ((frame = subscriber.queue.poll()) != null && !subscriber.closed.get()) {
+                try {
+                    subscriber.emitter.send(frame);
+                    messages.increment();
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away - the container completes the emitter
+                    unsubscribe(subscriber);
+                    return;
+                }
+            }
+            if (subscriber.closed.get()) {
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.writing.set(false);
+            // A frame queued after the last poll, while writing was still set
+        } while (!subscriber.queue.isEmpty() && subscriber.writing.compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        if (subscriber.date == null) {
+            allDates.remove(subscriber);
+        } else {
+            byDate.computeIfPresent(subscriber.date, (d, group) -> {
+                group.remove(subscriber);
+                return group.isEmpty() ? null : group;
+            });
+        }
+    }
+
+    private static SlotCapacityDTO toDTO(SlotCapacityChangedEvent event) {
+        return new SlotCapacityDTO(
+                event.getSlotId(),
+                event.getDoctorId(),
+                DisplayFormats.date(event.getSlotDate()),
+                event.getCurrentBookings(),
+                event.getRemainingSlots(),
+                DisplayFormats.time(event.getNextAvailableTime()),
+                event.getRemainingSlots() > 0);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final LocalDate date;
+        private final String specialization;
+        private final Long doctorId;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        /** A drain is queued or running on a writer thread */
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, LocalDate date, String specialization, Long doctorId,
+                int queueSize) {
+            this.emitter = emitter;
+            this.date = date;
+            this.specialization = specialization;
+            this.doctorId = doctorId;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        private boolean matches(SlotCapacityChangedEvent event) {
+            return (specialization == null || specialization.equalsIgnoreCase(event.getSpecialization()))
+                    && (doctorId == null || doctorId.equals(event.getDoctorId()));
+        }
+    }
+}
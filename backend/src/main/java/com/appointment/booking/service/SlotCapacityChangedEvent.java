@@ -0,0 +1,100 @@
+package com.appointment.booking.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.appointment.booking.entity.Slot;
+
+/**
+ * Published when a slot's booking count changes (booked, batch booked, cancelled)
+ *
+ * Carries everything a live subscriber needs, so SlotAvailabilityBroadcaster
+ * never goes back to the database. Delivered after commit only
+ * (@TransactionalEventListener) - rolled-back bookings are never announced.
+ *
+ * ORDERING: After-commit listeners of concurrent transactions run in any order, so an
+ * older count can arrive after a newer one. version is the slot row version written by
+ * the change - listeners keep the highest version they have seen and drop older events.
+ */
+public class SlotCapacityChangedEvent {
+
+    private final Long slotId;
+    private final Long doctorId;
+    private final String specialization;
+    private final LocalDate slotDate;
+    private final int currentBookings;
+    private final int maxBookingsPerDay;
+    private final LocalTime nextAvailableTime;
+    private final long version;
+
+    public SlotCapacityChangedEvent(Long slotId, Long doctorId, String specialization, LocalDate slotDate,
+            int currentBookings, int maxBookingsPerDay, LocalTime nextAvailableTime, long version) {
+        this.slotId = slotId;
+        this.doctorId = doctorId;
+        this.specialization = specialization;
+        this.slotDate = slotDate;
+        this.currentBookings = currentBookings;
+        this.maxBookingsPerDay = maxBookingsPerDay;
+        this.nextAvailableTime = nextAvailableTime;
+        this.version = version;
+    }
+
+    /**
+     * Event for a slot whose count is now currentBookings at row version `version`
+     * (the Slot entity itself may be stale - reservations are UPDATEs in the database)
+     */
+    public static SlotCapacityChangedEvent of(Slot slot, int currentBookings, long version) {
+        return new SlotCapacityChangedEvent(
+                slot.getId(),
+                slot.getDoctor().getId(),
+                slot.getDoctor().getSpecialization(),
+                slot.getSlotDate(),
+                currentBookings,
+                slot.getMaxBookingsPerDay(),
+                slot.getConsultationStartTime().plusMinutes((long) currentBookings * slot.getMinutesPerPatient()),
+                version);
+    }
+
+    public Long getSlotId() {
+        return slotId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public int getCurrentBookings() {
+        return currentBookings;
+    }
+
+    public int getMaxBookingsPerDay() {
+        return maxBookingsPerDay;
+    }
+
+    public int getRemainingSlots() {
+        return maxBookingsPerDay - currentBookings;
+    }
+
+    public LocalTime getNextAvailableTime() {
+        return nextAvailableTime;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The change that wins when two events for the same slot meet
+     */
+    public static SlotCapacityChangedEvent newer(SlotCapacityChangedEvent a, SlotCapacityChangedEvent b) {
+        return b.version >= a.version ? b : a;
+    }
+}
@@ -0,0 +1,248 @@
+package com.appointment.booking.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.appointment.booking.entity.Slot;
+
+/**
+ * Slot Capacity Ledger
+ *
+ * WHY: Admission control in front of the booking transaction.
+ * When a popular doctor's 30 tokens open, hundreds of requests arrive at once.
+ * Only (remaining capacity) of them can ever succeed - the rest are turned away here,
+ * without opening a write transaction or queueing on the slot row lock.
+ *
+ * HOW:
+ * - One entry per slot: (maxBookingsPerDay, booked, inFlight) packed into a single long,
+ *   updated with compare-and-set loops - no locks
+ * - booked: the slot's count as last seen in the database
+ * - inFlight: tickets handed out whose reservation UPDATE hasn't returned yet
+ * - A request is admitted while booked + inFlight < max
+ *
+ * SYNC WITH THE DATABASE: The ledger only turns requests away - positions and
+ * appointment times come from the conditional UPDATE (SlotRepository.reserveBooking).
+ * Every source of truth corrects the entry:
+ * - recordReserved / recordFull: the count the UPDATE returned (or "full")
+ * - tryReserve: the slot row the caller just loaded - max is always taken from it, and
+ *   with nothing in flight its count replaces booked (cancellations on other nodes,
+ *   admin capacity changes, a booking that raced the first seed)
+ * - release: cancellations committed on this node
+ * A stale entry can therefore only refuse requests while reservations are in flight.
+ */
+@Component
+public class SlotCapacityLedger {
+
+    private static final int BITS = 21;
+    private static final long MASK = (1L << BITS) - 1;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Tickets granted to one transaction for one slot
+     *
+     * Hand it back with recordReserved / recordFull once the reservation UPDATE returned.
+     * If the transaction ends first (an exception), the tickets are handed back then.
+     */
+    public static final class Ticket {
+        private final Entry entry;
+        private final int count;
+        private int reserved;
+        private boolean recorded;
+
+        private Ticket(Entry entry, int count) {
+            this.entry = entry;
+            this.count = count;
+        }
+
+        /** Tickets granted - 0 when the ledger considers the slot full */
+        public int count() {
+            return count;
+        }
+    }
+
+    /**
+     * Reserve a ticket for a slot
+     *
+     * @param slot the slot row as just loaded from the database
+     * RETURNS: a ticket with count() 0 when the slot is already full
+     */
+    public Ticket tryReserve(Slot slot) {
+        return tryReserve(slot, 1);
+    }
+
+    /**
+     * Reserve up to `requested` tickets for a slot (batch bookings)
+     *
+     * @param slot the slot row as just loaded from the database
+     * RETURNS: a ticket for how many were granted (count() 0 when full)
+     */
+    public Ticket tryReserve(Slot slot, int requested) {
+        Entry entry = entries.computeIfAbsent(slot.getId(), id -> new Entry(slot.getSlotDate()));
+        int rowMax = slot.getMaxBookingsPerDay();
+        int rowBooked = slot.getCurrentBookings();
+        while (true) {
+            long state = entry.state.get();
+            int inFlight = inFlightOf(state);
+            // Nothing in flight: the row is at least as fresh as anything the entry knows
+            int booked = inFlight == 0 ? rowBooked : Math.max(bookedOf(state), rowBooked);
+            int granted = Math.min(requested, rowMax - booked - inFlight);
+            if (granted <= 0) {
+                if (entry.state.compareAndSet(state, pack(rowMax, booked, inFlight))) {
+                    return new Ticket(entry, 0);
+                }
+                continue;
+            }
+            if (entry.state.compareAndSet(state, pack(rowMax, booked, inFlight + granted))) {
+                Ticket ticket = new Ticket(entry, granted);
+                afterCompletion(ticket);
+                return ticket;
+            }
+        }
+    }
+
+    /**
+     * The reservation UPDATE granted `reserved` positions and left the slot at currentBookings
+     */
+    public void recordReserved(Ticket ticket, int reserved, int currentBookings) {
+        if (ticket.count == 0 || ticket.recorded) {
+            return;
+        }
+        ticket.recorded = true;
+        ticket.reserved = reserved;
+        update(ticket.entry, (max, booked, inFlight) -> pack(max, currentBookings, inFlight - ticket.count));
+    }
+
+    /**
+     * The reservation UPDATE found the slot full
+     */
+    public void recordFull(Ticket ticket) {
+        if (ticket.count == 0 || ticket.recorded) {
+            return;
+        }
+        ticket.recorded = true;
+        update(ticket.entry, (max, booked, inFlight) -> pack(max, max, inFlight - ticket.count));
+    }
+
+    /**
+     * Give a ticket back (booking cancelled)
+     */
+    public void release(Slot slot) {
+        release(slot, 1);
+    }
+
+    /**
+     * Give tickets back
+     *
+     * WHY after commit: a cancellation that rolls back must not free the ticket
+     * Only an existing entry is decremented - a missing one is seeded later from the
+     * slot row, which already has the cancellation in its count.
+     */
+    public void release(Slot slot, int count) {
+        Long slotId = slot.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    decrementBooked(entries.get(slotId), count);
+                }
+            });
+        } else {
+            decrementBooked(entries.get(slotId), count);
+        }
+    }
+
+    /**
+     * Forget a slot (e.g. deleted by admin)
+     */
+    public void evict(Long slotId) {
+        entries.remove(slotId);
+    }
+
+    /**
+     * Past slots can no longer be booked - drop their entries
+     */
+    @Scheduled(fixedDelayString = "${booking.ledger.eviction-interval-ms:3600000}")
+    public void evictPastSlots() {
+        LocalDate today = LocalDate.now();
+        entries.values().removeIf(entry -> entry.slotDate.isBefore(today));
+    }
+
+    // ============ HELPERS ============
+
+    private interface StateUpdate {
+        long apply(int max, int booked, int inFlight);
+    }
+
+    private static void update(Entry entry, StateUpdate update) {
+        while (true) {
+            long state = entry.state.get();
+            long next = update.apply(maxOf(state), bookedOf(state), inFlightOf(state));
+            if (entry.state.compareAndSet(state, next)) {
+                return;
+            }
+        }
+    }
+
+    private static void decrementBooked(Entry entry, int count) {
+        if (entry != null) {
+            update(entry, (max, booked, inFlight) -> pack(max, booked - count, inFlight));
+        }
+    }
+
+    /**
+     * Tickets still in flight when the transaction ends go back; reserved positions
+     * of a rolled back transaction are freed again
+     */
+    private static void afterCompletion(Ticket ticket) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (!ticket.recorded) {
+                    ticket.recorded = true;
+                    update(ticket.entry, (max, booked, inFlight) -> pack(max, booked, inFlight - ticket.count));
+                } else if (status == STATUS_ROLLED_BACK && ticket.reserved > 0) {
+                    decrementBooked(ticket.entry, ticket.reserved);
+                }
+            }
+        });
+    }
+
+    private static long pack(int max, int booked, int inFlight) {
+        return ((long) clamp(max) << (2 * BITS)) | ((long) clamp(booked) << BITS) | clamp(inFlight);
+    }
+
+    private static int clamp(int value) {
+        return (int) Math.min(Math.max(value, 0), MASK);
+    }
+
+    private static int maxOf(long state) {
+        return (int) (state >>> (2 * BITS));
+    }
+
+    private static int bookedOf(long state) {
+        return (int) ((state >>> BITS) & MASK);
+    }
+
+    private static int inFlightOf(long state) {
+        return (int) (state & MASK);
+    }
+
+    private static final class Entry {
+        private final LocalDate slotDate;
+        private final AtomicLong state = new AtomicLong();
+
+        private Entry(LocalDate slotDate) {
+            this.slotDate = slotDate;
+        }
+    }
+}
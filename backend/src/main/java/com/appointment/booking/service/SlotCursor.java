@@ -0,0 +1,72 @@
+package com.appointment.booking.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import com.appointment.booking.dto.DisplayFormats;
+import com.appointment.booking.dto.SlotDTO;
+
+/**
+ * Keyset cursor for slot listings
+ *
+ * WHY: OFFSET paging re-reads every skipped row. A cursor remembers the sort key of
+ * the last row returned - (slotDate, consultationStartTime, id) - and the next page
+ * starts right after it, straight from the index.
+ *
+ * FORMAT: URL-safe Base64 of "2026-10-17|09:00|123" (opaque to clients)
+ */
+public final class SlotCursor {
+
+    private final LocalDate slotDate;
+    private final LocalTime consultationStartTime;
+    private final Long id;
+
+    public SlotCursor(LocalDate slotDate, LocalTime consultationStartTime, Long id) {
+        this.slotDate = slotDate;
+        this.consultationStartTime = consultationStartTime;
+        this.id = id;
+    }
+
+    /**
+     * Cursor after a listed row - the sort key is read back from the DTO
+     * NOTE: consultationStartTime is shown as HH:mm, so slot start times are kept
+     * at minute precision (AdminService.generateSlots truncates them)
+     */
+    public static SlotCursor after(SlotDTO slot) {
+        return new SlotCursor(LocalDate.parse(slot.getSlotDate(), DisplayFormats.DATE),
+                LocalTime.parse(slot.getConsultationStartTime(), DisplayFormats.TIME),
+                slot.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static SlotCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new SlotCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = slotDate + "|" + consultationStartTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public LocalTime getConsultationStartTime() {
+        return consultationStartTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
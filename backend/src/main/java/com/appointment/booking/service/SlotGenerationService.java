@@ -0,0 +1,117 @@
+package com.appointment.booking.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.SlotRepository.ScheduledDate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Slot Generation Service
+ *
+ * WHY: Generation used to call existsByDoctorAndSlotDate once per day per doctor
+ * (365 round trips for a one-year range) and insert slots one by one.
+ *
+ * FLOW (set-based):
+ * 1. ONE query for the dates that already have a slot - all doctors, whole range
+ * 2. Missing dates computed in memory
+ * 3. New slots inserted in JDBC batches (hibernate.jdbc.batch_size, pooled sequence ids)
+ *
+ * Inserted slots are flushed and detached every FLUSH_SIZE rows,
+ * so a large range doesn't grow the persistence context.
+ * Doctors that got new slots are announced with SlotScheduleChangedEvent.
+ */
+@Service
+public class SlotGenerationService {
+
+    private static final int FLUSH_SIZE = 500;
+
+    private final SlotRepository slotRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SlotGenerationService(SlotRepository slotRepository, EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher) {
+        this.slotRepository = slotRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Create the missing slots for every doctor in [startDate, endDate]
+     * Doctors must be distinct
+     * Dates that already have a slot are skipped (unique doctor + slotDate)
+     *
+     * RETURNS: slots generated per doctor id, in the order given
+     */
+    @Transactional
+    public Map<Long, Integer> generate(List<Doctor> doctors, LocalDate startDate, LocalDate endDate,
+            LocalTime consultationStartTime) {
+        Map<Long, Integer> generated = new LinkedHashMap<>();
+        if (doctors.isEmpty() || startDate.isAfter(endDate)) {
+            doctors.forEach(doctor -> generated.put(doctor.getId(), 0));
+            return generated;
+        }
+
+        // 1. Existing dates, grouped by doctor
+        Set<Long> doctorIds = doctors.stream().map(Doctor::getId).collect(Collectors.toSet());
+        Map<Long, Set<LocalDate>> scheduled = new HashMap<>();
+        for (ScheduledDate date : slotRepository.findScheduledDates(doctorIds, startDate, endDate)) {
+            scheduled.computeIfAbsent(date.getDoctorId(), id -> new HashSet<>()).add(date.getSlotDate());
+        }
+
+        // 2. Missing dates, 3. Batched inserts
+        List<Slot> pending = new ArrayList<>(FLUSH_SIZE);
+        for (Doctor doctor : doctors) {
+            Set<LocalDate> taken = scheduled.getOrDefault(doctor.getId(), Set.of());
+            int count = 0;
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (taken.contains(date)) {
+                    continue;
+                }
+                pending.add(new Slot(null, date, consultationStartTime, doctor));
+                count++;
+                if (pending.size() == FLUSH_SIZE) {
+                    flush(pending);
+                }
+            }
+            generated.put(doctor.getId(), count);
+        }
+        flush(pending);
+
+        Set<Long> changed = generated.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new SlotScheduleChangedEvent(changed));
+        }
+        return generated;
+    }
+
+    private void flush(List<Slot> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        slotRepository.saveAll(pending);
+        entityManager.flush();
+        pending.forEach(entityManager::detach);
+        pending.clear();
+    }
+}
@@ -0,0 +1,222 @@
+package com.appointment.booking.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.appointment.booking.config.DatabaseBulkhead;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.SlotRepository.ScheduledDate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Slot Horizon Scheduler
+ *
+ * WHY: Slots only existed where DataInitializer seeded 14 days or an admin
+ * called /api/admin/slots/generate. This keeps a rolling horizon of
+ * booking.slots.horizon-days for every doctor, off-peak (cron) and at startup.
+ *
+ * FLOW:
+ * 1. Watermark per doctor = last scheduled slot date (ONE grouped query)
+ * 2. Doctors behind the horizon are grouped by their first missing date
+ *    and split into partitions of booking.slots.partition-size
+ * 3. Partitions run on a small fixed pool - each is one SlotGenerationService
+ *    transaction with batched inserts
+ *
+ * RESTART-SAFE: The watermark is read from the slots table, so a crashed or
+ * skipped run is simply caught up by the next one. Gaps before the watermark
+ * (e.g. a day off deleted by admin) are never re-filled.
+ *
+ * POOL SIZE: Each worker holds a connection, under a DatabaseBulkhead permit -
+ * a run never takes connections that requests have been promised.
+ *
+ * METRICS (/actuator/metrics):
+ * - slots.rollforward.generated / slots.rollforward.failures (partitions)
+ * - slots.rollforward.duration (per run)
+ * - slots.horizon.lag.days: how far the furthest-behind doctor is from today's horizon
+ *   (keeps growing if runs stop or fail)
+ */
+@Component
+public class SlotHorizonScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotHorizonScheduler.class);
+
+    private static final LocalTime DEFAULT_START_TIME = LocalTime.of(9, 0);
+
+    private final DoctorRepository doctorRepository;
+    private final SlotRepository slotRepository;
+    private final SlotGenerationService slotGenerationService;
+    private final DatabaseBulkhead databaseBulkhead;
+    private final int horizonDays;
+    private final int partitionSize;
+    private final ExecutorService workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    /** Every doctor has slots up to this date (after the last run) */
+    private final AtomicReference<LocalDate> coveredUntil = new AtomicReference<>();
+    private final Counter generated;
+    private final Counter failures;
+    private final Timer duration;
+
+    public SlotHorizonScheduler(DoctorRepository doctorRepository,
+            SlotRepository slotRepository,
+            SlotGenerationService slotGenerationService,
+            DatabaseBulkhead databaseBulkhead,
+            MeterRegistry meterRegistry,
+            @Value("${booking.slots.horizon-days:30}") int horizonDays,
+            @Value("${booking.slots.partition-size:50}") int partitionSize,
+            @Value("${booking.slots.workers:2}") int workers) {
+        this.doctorRepository = doctorRepository;
+        this.slotRepository = slotRepository;
+        this.slotGenerationService = slotGenerationService;
+        this.databaseBulkhead = databaseBulkhead;
+        this.horizonDays = horizonDays;
+        this.partitionSize = partitionSize;
+        this.workers = Executors.newFixedThreadPool(workers);
+
+        this.generated = Counter.builder("slots.rollforward.generated")
+                .description("Slots created by the roll-forward scheduler")
+                .register(meterRegistry);
+        this.failures = Counter.builder("slots.rollforward.failures")
+                .description("Roll-forward partitions that failed (retried on the next run)")
+                .register(meterRegistry);
+        this.duration = Timer.builder("slots.rollforward.duration")
+                .description("Time per roll-forward run")
+                .register(meterRegistry);
+        Gauge.builder("slots.horizon.lag.days", this, SlotHorizonScheduler::lagDays)
+                .description("Days the furthest-behind doctor is short of the horizon")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A failed startup run must not stop the application - the cron run catches up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            rollForward();
+        } catch (RuntimeException e) {
+            log.warn("Slot roll-forward at startup failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${booking.slots.roll-forward-cron:0 30 2 * * *}")
+    public void onSchedule() {
+        rollForward();
+    }
+
+    /**
+     * Bring every doctor up to the horizon
+     * RETURNS: slots generated (0 if another run is already in progress)
+     */
+    public int rollForward() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return duration.recordCallable(this::runOnce);
+        } catch (Exception e) {
+            throw new RuntimeException("Slot roll-forward failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ============ HELPERS ============
+
+    private int runOnce() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = today.plusDays(horizonDays - 1L);
+
+        Map<Long, LocalDate> watermarks = new HashMap<>();
+        for (ScheduledDate last : slotRepository.findLastScheduledDates()) {
+            watermarks.put(last.getDoctorId(), last.getSlotDate());
+        }
+
+        // Group doctors behind the horizon by their first missing date
+        Map<LocalDate, List<Doctor>> byStartDate = new TreeMap<>();
+        for (Doctor doctor : doctorRepository.findAll()) {
+            LocalDate watermark = watermarks.get(doctor.getId());
+            LocalDate start = watermark == null || watermark.isBefore(today) ? today : watermark.plusDays(1);
+            if (!start.isAfter(horizonEnd)) {
+                byStartDate.computeIfAbsent(start, date -> new ArrayList<>()).add(doctor);
+            }
+        }
+
+        Map<Future<Integer>, LocalDate> partitions = new HashMap<>();
+        for (Map.Entry<LocalDate, List<Doctor>> group : byStartDate.entrySet()) {
+            List<Doctor> doctors = group.getValue();
+            for (int from = 0; from < doctors.size(); from += partitionSize) {
+                List<Doctor> partition = doctors.subList(from, Math.min(from + partitionSize, doctors.size()));
+                partitions.put(workers.submit(() -> databaseBulkhead.callWithPermit(
+                        () -> generate(partition, group.getKey(), horizonEnd))), group.getKey());
+            }
+        }
+
+        int total = 0;
+        LocalDate covered = horizonEnd;
+        for (Map.Entry<Future<Integer>, LocalDate> partition : partitions.entrySet()) {
+            try {
+                total += partition.getKey().get();
+            } catch (ExecutionException e) {
+                failures.increment();
+                log.warn("Slot roll-forward partition failed, will retry on the next run", e.getCause());
+                LocalDate lastScheduled = partition.getValue().minusDays(1);
+                if (lastScheduled.isBefore(covered)) {
+                    covered = lastScheduled;
+                }
+            }
+        }
+        coveredUntil.set(covered);
+        return total;
+    }
+
+    private double lagDays() {
+        LocalDate covered = coveredUntil.get();
+        if (covered == null) {
+            return Double.NaN;
+        }
+        LocalDate horizonEnd = LocalDate.now().plusDays(horizonDays - 1L);
+        return Math.max(0, ChronoUnit.DAYS.between(covered, horizonEnd));
+    }
+
+    private int generate(List<Doctor> doctors, LocalDate startDate, LocalDate endDate) {
+        int count = slotGenerationService.generate(doctors, startDate, endDate, DEFAULT_START_TIME)
+                .values().stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        generated.increment(count);
+        return count;
+    }
+}
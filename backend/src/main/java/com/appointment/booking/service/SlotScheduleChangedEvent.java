@@ -0,0 +1,29 @@
+package com.appointment.booking.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published when slots are added or removed for doctors
+ * (slot generation, admin deletes a slot)
+ *
+ * Booking counts changing on existing slots is SlotCapacityChangedEvent.
+ * Listeners use @TransactionalEventListener, so they only see it
+ * once the change has committed.
+ */
+public class SlotScheduleChangedEvent {
+
+    private final Set<Long> doctorIds;
+
+    public SlotScheduleChangedEvent(Collection<Long> doctorIds) {
+        this.doctorIds = Set.copyOf(doctorIds);
+    }
+
+    public static SlotScheduleChangedEvent of(Long doctorId) {
+        return new SlotScheduleChangedEvent(Set.of(doctorId));
+    }
+
+    public Set<Long> getDoctorIds() {
+        return doctorIds;
+    }
+}
@@ -1,58 +1,173 @@
 package com.appointment.booking.service;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.dto.SlotPageDTO;
+import com.appointment.booking.dto.SlotSearchRequest;
 import com.appointment.booking.repository.DoctorRepository;
 import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.SlotSearchRepository.SlotSearchCriteria;
 
+/**
+ * Slot listing and search
+ *
+ * READ PATH: Every method reads SlotDTO projections (SlotRepository.SLOT_DTO_SELECT)
+ * in a read-only transaction - no entities are loaded, tracked or dirty-checked.
+ */
 @Service
+@Transactional(readOnly = true)
 public class SlotService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_DAYS = 7;
+    private static final int MAX_SEARCH_DAYS = 31;
+
     private final SlotRepository slotRepository;
     private final DoctorRepository doctorRepository;
-    private final MappingService mappingService;
+    private final DoctorNameIndex doctorNameIndex;
 
     public SlotService(SlotRepository slotRepository,
             DoctorRepository doctorRepository,
-            MappingService mappingService) {
+            DoctorNameIndex doctorNameIndex) {
         this.slotRepository = slotRepository;
         this.doctorRepository = doctorRepository;
-        this.mappingService = mappingService;
+        this.doctorNameIndex = doctorNameIndex;
     }
 
     /**
-     * Get all available slots
+     * Get available slots, one page at a time
+     * 
+     * FILTERS (in the query, not in Java): isAvailable = true, slotDate >= today
+     * PAGING: keyset on (slotDate, consultationStartTime, id) - see SlotCursor
+     * 
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException on a malformed cursor
      */
-    public List<SlotDTO> getAllAvailableSlots() {
-        return slotRepository.findAll()
-                .stream()
-                .filter(slot -> slot.getIsAvailable())
-                .map(mappingService::toSlotDTO)
-                .collect(Collectors.toList());
+    public SlotPageDTO getAvailableSlots(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDate today = LocalDate.now();
+        
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<SlotDTO> slots;
+        if (cursor == null || cursor.isBlank()) {
+            slots = slotRepository.findAvailableFrom(today, limit);
+        } else {
+            SlotCursor after = SlotCursor.decode(cursor);
+            slots = slotRepository.findAvailableAfter(
+                    today, after.getSlotDate(), after.getConsultationStartTime(), after.getId(), limit);
+        }
+        
+        String nextCursor = null;
+        if (slots.size() > pageSize) {
+            slots = slots.subList(0, pageSize);
+            nextCursor = SlotCursor.after(slots.get(pageSize - 1)).encode();
+        }
+        
+        return new SlotPageDTO(slots, nextCursor);
+    }
+
+    /**
+     * Multi-criteria search - any combination of hospital, doctor, specialization
+     * over a date range, one page at a time
+     * 
+     * DATES: date (single day) or fromDate / toDate; fromDate defaults to today
+     * (past dates start today), toDate to a week from fromDate.
+     * CAPS: at most MAX_SEARCH_DAYS days and MAX_PAGE_SIZE slots per page
+     * PAGING: keyset, same cursor as getAvailableSlots - send the same filters again
+     * 
+     * ONE query per page (SlotSearchRepository)
+     * 
+     * @throws IllegalArgumentException on a bad date, range or cursor
+     */
+    public SlotPageDTO search(SlotSearchRequest request) {
+        int pageSize = request.getSize() == null
+                ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        LocalDate today = LocalDate.now();
+
+        LocalDate fromDate = parseDate(request.getDate() != null ? request.getDate() : request.getFromDate());
+        LocalDate toDate = parseDate(request.getDate() != null ? request.getDate() : request.getToDate());
+        LocalDate startDate = fromDate == null || fromDate.isBefore(today) ? today : fromDate;
+        LocalDate endDate = toDate != null ? toDate : startDate.plusDays(DEFAULT_SEARCH_DAYS - 1);
+        if (endDate.isBefore(startDate)) {
+            return new SlotPageDTO(List.of(), null); // range entirely in the past
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_SEARCH_DAYS) {
+            throw new IllegalArgumentException("Date range is limited to " + MAX_SEARCH_DAYS + " days");
+        }
+
+        SlotCursor after = request.getCursor() == null || request.getCursor().isBlank()
+                ? null
+                : SlotCursor.decode(request.getCursor());
+        String specialization = request.getSpecialization() == null || request.getSpecialization().isBlank()
+                ? null
+                : request.getSpecialization().trim();
+        SlotSearchCriteria criteria = new SlotSearchCriteria(
+                request.getHospitalId(),
+                request.getDoctorId(),
+                specialization,
+                startDate,
+                endDate,
+                after != null ? after.getSlotDate() : null,
+                after != null ? after.getConsultationStartTime() : null,
+                after != null ? after.getId() : null);
+
+        // Fetch one extra row to know whether another page exists
+        List<SlotDTO> slots = slotRepository.search(criteria, pageSize + 1);
+
+        String nextCursor = null;
+        if (slots.size() > pageSize) {
+            slots = slots.subList(0, pageSize);
+            nextCursor = SlotCursor.after(slots.get(pageSize - 1)).encode();
+        }
+
+        return new SlotPageDTO(slots, nextCursor);
     }
 
     /**
      * Search slots by doctor name and date
+     * 
+     * FLOW:
+     * 1. Match the name in memory (DoctorNameIndex) -> doctor ids
+     * 2. No match -> no database call at all
+     * 3. Otherwise an indexed (doctor_id, slot_date) lookup
      */
     public List<SlotDTO> searchByDoctorName(String doctorName, LocalDate date) {
-        return slotRepository.searchByDoctorNameAndDate(doctorName, date)
-                .stream()
-                .map(mappingService::toSlotDTO)
-                .collect(Collectors.toList());
+        Set<Long> doctorIds = doctorNameIndex.search(doctorName);
+        if (doctorIds.isEmpty()) {
+            return List.of();
+        }
+        return slotRepository.findAvailableByDoctorIdsAndDate(doctorIds, date);
     }
 
     /**
      * Search slots by specialization and date
      */
     public List<SlotDTO> searchBySpecialization(String specialization, LocalDate date) {
-        return slotRepository.searchBySpecializationAndDate(specialization, date)
-                .stream()
-                .map(mappingService::toSlotDTO)
-                .collect(Collectors.toList());
+        return slotRepository.searchBySpecializationAndDate(specialization, date);
+    }
+
+    // ============ HELPERS ============
+
+    private static LocalDate parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + date + "' - expected yyyy-MM-dd");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package com.appointment.booking.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.dto.WaitlistEntryDTO;
+import com.appointment.booking.entity.Booking;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.entity.WaitlistEntry;
+import com.appointment.booking.repository.BookingRepository;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.UserRepository;
+import com.appointment.booking.repository.WaitlistRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Waitlist Service
+ *
+ * WHY: When a doctor's day is full, patients used to retry POST /api/bookings every
+ * few seconds until someone cancelled. Now they queue once and a cancellation
+ * books the head of the queue for them.
+ *
+ * FLOW:
+ * 1. join: full slot -> WAITING entry (one per patient per slot, FIFO by id)
+ *    Join and promoteNext both lock the slot row (SlotRepository.findByIdForUpdate),
+ *    so no entry can be added after a cancellation found the queue empty.
+ * 2. cancelBooking (patient or admin) -> promoteNext in the SAME transaction:
+ *    the head entry becomes a CONFIRMED booking with the cancelled appointment time.
+ *    The slot's booking count doesn't change - the position changes hands.
+ * 3. The patient polls GET /api/waitlist/{id}: position while WAITING,
+ *    bookingId once PROMOTED (the booking also shows up in the phone + NIC lookups)
+ *
+ * METRICS (/actuator/metrics): booking.waitlist.joined, booking.waitlist.promoted
+ */
+@Service
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final SlotRepository slotRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final MappingService mappingService;
+
+    private final Counter joined;
+    private final Counter promoted;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           SlotRepository slotRepository,
+                           UserRepository userRepository,
+                           BookingRepository bookingRepository,
+                           MappingService mappingService,
+                           MeterRegistry meterRegistry) {
+        this.waitlistRepository = waitlistRepository;
+        this.slotRepository = slotRepository;
+        this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
+        this.mappingService = mappingService;
+
+        this.joined = Counter.builder("booking.waitlist.joined")
+                .description("Patients added to a slot waitlist")
+                .register(meterRegistry);
+        this.promoted = Counter.builder("booking.waitlist.promoted")
+                .description("Waitlist entries promoted into a booking by a cancellation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Join a full slot's waitlist
+     *
+     * Same request body as POST /api/bookings. Joining again while still
+     * waiting returns the existing entry.
+     */
+    @Transactional
+    public WaitlistEntryDTO join(BookingRequestDTO request) {
+        BookingService.validateGuestDetails(request);
+        if (request.getSlotId() == null) {
+            throw new RuntimeException("Slot id is required");
+        }
+
+        // Locked: a cancellation can't free a position between the check and the insert
+        Slot slot = slotRepository.findByIdForUpdate(request.getSlotId())
+            .orElseThrow(() -> new RuntimeException("Slot not found with id: " + request.getSlotId()));
+
+        if (slot.getSlotDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("Cannot join the waitlist for a past date");
+        }
+        if (slot.getIsAvailable()) {
+            throw new RuntimeException("Slot still has free positions - book it directly");
+        }
+
+        User user = userRepository.findByPhoneNumberAndNic(
+            request.getPhoneNumber(),
+            request.getNic()
+        ).orElseGet(() -> userRepository.save(BookingService.newGuestUser(request)));
+
+        Optional<WaitlistEntry> existing = waitlistRepository.findWaiting(slot.getId(), user.getId());
+        if (existing.isPresent()) {
+            return mappingService.toWaitlistEntryDTO(existing.get(), positionOf(existing.get()));
+        }
+        if (bookingRepository.existsConfirmedBooking(user.getId(), slot.getId())) {
+            throw new RuntimeException("You already have a booking for this slot");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry(slot, user, LocalDateTime.now());
+        entry.setPatientNotes(request.getPatientNotes());
+        WaitlistEntry savedEntry = waitlistRepository.save(entry);
+        joined.increment();
+
+        return mappingService.toWaitlistEntryDTO(savedEntry, positionOf(savedEntry));
+    }
+
+    /**
+     * Waitlist entry with the patient's current position - verified with phone + NIC
+     */
+    @Transactional(readOnly = true)
+    public WaitlistEntryDTO getEntry(Long entryId, String phoneNumber, String nic) {
+        WaitlistEntry entry = findOwnedEntry(entryId, phoneNumber, nic);
+        return mappingService.toWaitlistEntryDTO(entry, positionOf(entry));
+    }
+
+    /**
+     * Leave the waitlist - verified with phone + NIC
+     */
+    @Transactional
+    public WaitlistEntryDTO leave(Long entryId, String phoneNumber, String nic) {
+        WaitlistEntry entry = findOwnedEntry(entryId, phoneNumber, nic);
+        if (entry.getStatus() != WaitlistEntry.Status.WAITING) {
+            throw new RuntimeException("Only waiting entries can leave the waitlist");
+        }
+        entry.setStatus(WaitlistEntry.Status.LEFT);
+        return mappingService.toWaitlistEntryDTO(waitlistRepository.save(entry), null);
+    }
+
+    /**
+     * Hand a freed position to the head of the slot's waitlist
+     *
+     * Called by the cancellation paths INSIDE their transaction - the cancelled
+     * booking and the promoted one commit (or roll back) together.
+     *
+     * RETURNS: true if a waiting patient got the position (the caller must then
+     *          NOT give the capacity back), false if nobody was waiting
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean promoteNext(Slot slot, LocalTime appointmentTime) {
+        if (slot.getSlotDate().isBefore(LocalDate.now())) {
+            return false;
+        }
+
+        // Waits for a join still holding the slot - its entry is then visible below
+        slotRepository.findByIdForUpdate(slot.getId());
+        Optional<WaitlistEntry> next = waitlistRepository.lockNextWaiting(slot.getId());
+        if (next.isEmpty()) {
+            return false;
+        }
+        WaitlistEntry entry = next.get();
+
+        Booking booking = new Booking(
+            entry.getUser(),
+            slot,
+            LocalDateTime.now(),
+            appointmentTime,
+            Booking.BookingStatus.CONFIRMED
+        );
+        booking.setPatientNotes(entry.getPatientNotes());
+        booking.setAmountPaid(slot.getDoctor().getConsultationFee());
+        bookingRepository.save(booking);
+
+        entry.setStatus(WaitlistEntry.Status.PROMOTED);
+        entry.setBooking(booking);
+        waitlistRepository.save(entry);
+        promoted.increment();
+        return true;
+    }
+
+    // ============ HELPERS ============
+
+    private WaitlistEntry findOwnedEntry(Long entryId, String phoneNumber, String nic) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+            .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+
+        User user = entry.getUser();
+        if (!user.getPhoneNumber().equals(phoneNumber) || !user.getNic().equals(nic)) {
+            throw new RuntimeException("Invalid credentials - cannot access this waitlist entry");
+        }
+        return entry;
+    }
+
+    /**
+     * 1-based queue position, null once the entry has left the queue
+     */
+    private Integer positionOf(WaitlistEntry entry) {
+        if (entry.getStatus() != WaitlistEntry.Status.WAITING) {
+            return null;
+        }
+        return (int) waitlistRepository.countAhead(entry.getSlot().getId(), entry.getId()) + 1;
+    }
+}
@@ -0,0 +1,72 @@
+-- Baseline: the schema Hibernate (ddl-auto=update) created before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and never run it; new databases start here.
+
+CREATE TABLE hospitals (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    address varchar(255) NOT NULL,
+    city varchar(255) NOT NULL,
+    name varchar(255) NOT NULL,
+    phone_number varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE doctors (
+    consultation_fee float(53),
+    experience_years integer,
+    hospital_id bigint NOT NULL,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    name varchar(255) NOT NULL,
+    qualifications varchar(255),
+    specialization varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    age integer,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    email varchar(255),
+    gender varchar(255) CHECK (gender IN ('MALE', 'FEMALE', 'OTHER')),
+    name varchar(255) NOT NULL,
+    nic varchar(255) NOT NULL,
+    phone_number varchar(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE slots (
+    consultation_start_time time(6) NOT NULL,
+    current_bookings integer NOT NULL,
+    is_available boolean NOT NULL,
+    max_bookings_per_day integer NOT NULL,
+    minutes_per_patient integer NOT NULL,
+    slot_date date NOT NULL,
+    doctor_id bigint NOT NULL,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    PRIMARY KEY (id),
+    CONSTRAINT ukbk1y8l7vs3y4g941gpjkmv6r4 UNIQUE (doctor_id, slot_date)
+);
+
+CREATE TABLE bookings (
+    amount_paid float(53),
+    appointment_time time(6) NOT NULL,
+    booking_time timestamp(6) NOT NULL,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    slot_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    patient_notes varchar(255),
+    status varchar(255) NOT NULL CHECK (status IN ('CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW')),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE doctors
+    ADD CONSTRAINT FKavgx42jjd4i4bo52ox3o6k460 FOREIGN KEY (hospital_id) REFERENCES hospitals;
+
+ALTER TABLE slots
+    ADD CONSTRAINT FKkqli1c13rmv2ee4f3c8u9utr1 FOREIGN KEY (doctor_id) REFERENCES doctors;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT FKk9hp0313ktm0adh5xha81hdjb FOREIGN KEY (slot_id) REFERENCES slots;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT FKeyog2oic85xg7hsu2je2lx3s6 FOREIGN KEY (user_id) REFERENCES users;
@@ -0,0 +1,10 @@
+-- Slot ids come from slots_id_seq with a pooled optimizer (allocationSize = 50).
+-- The baseline (V1) has slots.id as an IDENTITY column whose sequence steps by 1:
+-- turn it into a plain column backed by a 50-step sequence that continues after
+-- the highest existing id.
+
+ALTER TABLE slots ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS slots_id_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE slots_id_seq INCREMENT BY 50;
+SELECT setval('slots_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM slots), 1));
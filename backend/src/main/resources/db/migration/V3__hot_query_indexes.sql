@@ -0,0 +1,24 @@
+-- Indexes for the hot read paths (before this, only the primary keys and the
+-- (doctor_id, slot_date) unique constraint existed).
+
+-- Bookable slots by date: findBySlotDateAndIsAvailableTrueOrderByConsultationStartTime
+-- and the keyset-paginated GET /api/slots, which orders by (slot_date, consultation_start_time, id).
+-- Partial: full slots are never listed. "slot_date >= today" can't be part of the
+-- predicate (not immutable) - the planner uses the slot_date range instead.
+CREATE INDEX IF NOT EXISTS idx_slots_available_date
+    ON slots (slot_date, consultation_start_time, id)
+    WHERE is_available;
+
+-- Guest lookups: findByPhoneNumberAndNic / findByPhoneNumberIn (batch bookings)
+CREATE INDEX IF NOT EXISTS idx_users_phone_nic
+    ON users (phone_number, nic);
+
+-- "My appointments": findUpcomingBookingsByUser / findPastBookingsByUser / findByUserAndStatus
+-- INCLUDE slot_id: the join to slots needs no heap visit
+CREATE INDEX IF NOT EXISTS idx_bookings_user_status
+    ON bookings (user_id, status) INCLUDE (slot_id);
+
+-- countConfirmedBookingsBySlot - only confirmed bookings are ever counted
+CREATE INDEX IF NOT EXISTS idx_bookings_slot_confirmed
+    ON bookings (slot_id)
+    WHERE status = 'CONFIRMED';
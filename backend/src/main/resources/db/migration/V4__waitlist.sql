@@ -0,0 +1,26 @@
+-- Per-slot waitlist (WaitlistEntry). Patients queue for a full slot; a cancellation
+-- hands its position to the head of the queue (WaitlistService.promoteNext).
+
+CREATE TABLE waitlist_entries (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    slot_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    joined_at timestamp(6) NOT NULL,
+    status varchar(255) NOT NULL CHECK (status IN ('WAITING', 'PROMOTED', 'LEFT')),
+    patient_notes varchar(255),
+    booking_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_waitlist_entries_slot FOREIGN KEY (slot_id) REFERENCES slots ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_entries_user FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT fk_waitlist_entries_booking FOREIGN KEY (booking_id) REFERENCES bookings ON DELETE SET NULL
+);
+
+-- FIFO head (promoteNext) and position (countAhead): waiting entries of a slot in id order
+CREATE INDEX idx_waitlist_entries_slot_waiting
+    ON waitlist_entries (slot_id, id)
+    WHERE status = 'WAITING';
+
+-- A patient waits at most once per slot
+CREATE UNIQUE INDEX uk_waitlist_entries_slot_user_waiting
+    ON waitlist_entries (slot_id, user_id)
+    WHERE status = 'WAITING';
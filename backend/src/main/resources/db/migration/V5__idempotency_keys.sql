@@ -0,0 +1,18 @@
+-- Idempotency-Key store for POST /api/bookings (IdempotencyService).
+-- A row is claimed (completed_at NULL) before the booking runs and completed in the
+-- booking's own transaction, so a stored response always means a committed booking.
+-- Rows older than booking.idempotency.ttl-hours are purged.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key varchar(255) NOT NULL,
+    request_hash varchar(64) NOT NULL,
+    status_code integer,
+    response_body text,
+    created_at timestamp(6) NOT NULL,
+    completed_at timestamp(6),
+    PRIMARY KEY (idempotency_key)
+);
+
+-- Purge by age
+CREATE INDEX idx_idempotency_keys_created_at
+    ON idempotency_keys (created_at);
@@ -0,0 +1,5 @@
+-- Optimistic lock version for Slot (@Version). Not part of the V1 baseline:
+-- databases created by ddl-auto=update are baselined at V1 and never ran it.
+-- IF NOT EXISTS: a no-op where the column is already there.
+
+ALTER TABLE slots ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
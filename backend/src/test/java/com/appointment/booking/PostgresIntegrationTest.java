@@ -0,0 +1,99 @@
+package com.appointment.booking;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Hospital;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.HospitalRepository;
+import com.appointment.booking.repository.SlotRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Base class for tests against a real PostgreSQL
+ *
+ * WHY: The booking paths use PostgreSQL-only SQL (UPDATE ... RETURNING, ON CONFLICT,
+ * partial indexes) - an in-memory database would not run them.
+ *
+ * HOW:
+ * - One embedded server per test JVM, schema from the Flyway migrations
+ * - Every subclass shares one application context (same configuration), so the
+ *   sample data (DataInitializer) and the slot roll-forward run once
+ * - Tests create their own hospital / doctor / slot and never depend on sample rows
+ * - A real servlet container (RANDOM_PORT), as in production - embedded Tomcat also
+ *   registers the classpath: URL scheme that loads hibernate-cache.conf
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    protected HospitalRepository hospitalRepository;
+
+    @Autowired
+    protected DoctorRepository doctorRepository;
+
+    @Autowired
+    protected SlotRepository slotRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    /**
+     * A new doctor (at a new hospital) with one empty slot - far beyond the roll-forward horizon
+     */
+    protected Slot newSlot(int maxBookingsPerDay) {
+        Hospital hospital = hospitalRepository.save(
+                new Hospital(null, "Test Hospital", "1 Test Road", "Testville", "0110000000"));
+        Doctor doctor = doctorRepository.save(
+                new Doctor(null, "Dr. Test", "Cardiology", "MBBS", 5, 2500.0, hospital));
+        Slot slot = new Slot(null, LocalDate.now().plusYears(1), LocalTime.of(9, 0), doctor);
+        slot.setMaxBookingsPerDay(maxBookingsPerDay);
+        return slotRepository.save(slot);
+    }
+
+    /**
+     * A new, empty database on the same server - for tests that build their own schema
+     */
+    protected static DataSource newDatabase(String name) {
+        try (Connection connection = POSTGRES.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + name, e);
+        }
+        return POSTGRES.getDatabase("postgres", name);
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.appointment.booking.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.appointment.booking.PostgresIntegrationTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Which requests hold a database permit, and for how long
+ */
+class DatabaseBulkheadTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DatabaseBulkhead databaseBulkhead;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void inMemoryEndpointsAreServedWhileEveryPermitIsTaken() throws Exception {
+        Long doctorId = newSlot(30).getDoctor().getId();
+        // Cold loads first - they run on the reserved connections
+        mockMvc.perform(get("/api/doctors")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/doctors/" + doctorId + "/availability")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/slots/earliest").param("specialization", "Cardiology")).andExpect(status().isOk());
+
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService holders = holdAllPermits(done);
+        try {
+            mockMvc.perform(get("/api/doctors")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/doctors/" + doctorId + "/availability")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/slots/earliest").param("specialization", "Cardiology"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/doctors").param("specialization", "Cardiology"))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            done.countDown();
+            holders.shutdown();
+        }
+    }
+
+    @Test
+    void streamedExportKeepsItsPermitUntilTheStreamCompletes() throws Exception {
+        int before = availablePermits();
+
+        MvcResult export = mockMvc.perform(get("/api/admin/bookings").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(availablePermits()).isEqualTo(before - 1);
+
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+        assertThat(availablePermits()).isEqualTo(before);
+    }
+
+    // ============ HELPERS ============
+
+    /**
+     * One thread per free permit, each holding it until done is counted down
+     */
+    private ExecutorService holdAllPermits(CountDownLatch done) throws InterruptedException {
+        int free = availablePermits();
+        ExecutorService holders = Executors.newFixedThreadPool(free);
+        for (int i = 0; i < free; i++) {
+            holders.submit(() -> databaseBulkhead.callWithPermit(() -> {
+                done.await();
+                return null;
+            }));
+        }
+        while (availablePermits() > 0) {
+            Thread.sleep(10);
+        }
+        return holders;
+    }
+
+    private int availablePermits() {
+        return (int) meterRegistry.get("db.bulkhead.available").gauge().value();
+    }
+}
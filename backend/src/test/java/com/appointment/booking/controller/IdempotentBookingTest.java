@@ -0,0 +1,87 @@
+package com.appointment.booking.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.appointment.booking.PostgresIntegrationTest;
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * POST /api/bookings with an Idempotency-Key - resends, failures, rate limits
+ */
+class IdempotentBookingTest extends PostgresIntegrationTest {
+
+    /** More than booking.rate-limit.create.identity.capacity */
+    private static final int RESENDS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void resendsAreReplayedWithoutUsingThePatientsAttempts() throws Exception {
+        Slot slot = newSlot(30);
+        BookingRequestDTO request = request(slot, "replay");
+        String key = "replay-" + slot.getId();
+
+        String first = book(key, request).andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        for (int i = 0; i < RESENDS; i++) {
+            String replayed = book(key, request)
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(replayed).isEqualTo(first);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT current_bookings FROM slots WHERE id = ?",
+                Integer.class, slot.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void failedBookingReleasesTheKey() throws Exception {
+        Slot slot = newSlot(30);
+        BookingRequestDTO request = request(slot, "failed");
+        request.setSlotId(-slot.getId());
+        String key = "failed-" + slot.getId();
+
+        book(key, request).andExpect(status().isBadRequest());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys WHERE idempotency_key = ?",
+                Integer.class, key)).isZero();
+    }
+
+    // ============ HELPERS ============
+
+    private ResultActions book(String key, BookingRequestDTO request) throws Exception {
+        return mockMvc.perform(post("/api/bookings")
+                .header(IdempotencyService.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private static BookingRequestDTO request(Slot slot, String patient) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setSlotId(slot.getId());
+        request.setName("Patient " + patient);
+        request.setPhoneNumber("05" + slot.getId() + "-" + patient);
+        request.setNic("NIC" + slot.getId() + "-" + patient);
+        return request;
+    }
+}
@@ -0,0 +1,41 @@
+package com.appointment.booking.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.appointment.booking.PostgresIntegrationTest;
+
+/**
+ * Token buckets in front of the booking endpoints (RateLimitInterceptor)
+ */
+class RateLimitTest extends PostgresIntegrationTest {
+
+    /** More than booking.rate-limit.lookup.identity.capacity */
+    private static final int PREFLIGHTS = 15;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void corsPreflightsAreFree() throws Exception {
+        String patient = "preflight-" + System.nanoTime();
+        for (int i = 0; i < PREFLIGHTS; i++) {
+            mockMvc.perform(options("/api/bookings/lookup")
+                    .param("phoneNumber", patient)
+                    .param("nic", patient)
+                    .header(HttpHeaders.ORIGIN, "http://localhost:8081")
+                    .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET"))
+                    .andExpect(status().isOk());
+        }
+
+        // Unknown patient - 404, not 429
+        mockMvc.perform(get("/api/bookings/lookup").param("phoneNumber", patient).param("nic", patient))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,117 @@
+package com.appointment.booking.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.appointment.booking.PostgresIntegrationTest;
+import com.appointment.booking.entity.Booking;
+import com.appointment.booking.entity.Booking.BookingStatus;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.repository.BookingRepository;
+import com.appointment.booking.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * SQL statements per request for the main list endpoints
+ *
+ * WHY: Lists are built by projection / fetch-join queries - a lazy association touched
+ * while mapping (N+1) or a new per-row lookup shows up here as a higher count.
+ *
+ * HOW: Hibernate Statistics (hibernate.generate_statistics=true) count every prepared
+ * JDBC statement; they are cleared right before the request under test.
+ */
+class StatementCountTest extends PostgresIntegrationTest {
+
+    private static final int BOOKINGS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void slotListingIsOneStatement() throws Exception {
+        assertStatements(1, get("/api/slots").param("size", "200"))
+                .andExpect(jsonPath("$.items.length()").value(200));
+    }
+
+    @Test
+    void bookingHistoryIsTwoStatements() throws Exception {
+        // Every booking on a different doctor and hospital - nothing to share between rows
+        Slot first = newSlot(30);
+        User user = new User();
+        user.setName("History Patient");
+        user.setPhoneNumber("history-" + first.getId());
+        user.setNic("history-" + first.getId());
+        userRepository.save(user);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Slot slot = i == 0 ? first : newSlot(30);
+            bookingRepository.save(new Booking(user, slot, LocalDateTime.now(),
+                    slot.getConsultationStartTime(), BookingStatus.CONFIRMED));
+        }
+
+        // User lookup + bookings with slot, doctor and hospital
+        assertStatements(2, get("/api/bookings/lookup")
+                .param("phoneNumber", user.getPhoneNumber())
+                .param("nic", user.getNic()))
+                .andExpect(jsonPath("$.length()").value(BOOKINGS));
+    }
+
+    @Test
+    void doctorListingIsOneStatementPerLookup() throws Exception {
+        Slot slot = newSlot(30);
+        Long hospitalId = slot.getDoctor().getHospital().getId();
+
+        // Hospital exists check + doctors with their hospital
+        assertStatements(2, get("/api/doctors").param("hospitalId", hospitalId.toString()))
+                .andExpect(jsonPath("$.length()").value(1));
+        assertStatements(1, get("/api/doctors").param("specialization", "Cardiology"));
+    }
+
+    @Test
+    void doctorDirectoryIsServedWithoutStatements() throws Exception {
+        mockMvc.perform(get("/api/doctors")).andExpect(status().isOk()); // builds the snapshot if needed
+        assertStatements(0, get("/api/doctors"));
+    }
+
+    // ============ HELPERS ============
+
+    private ResultActions assertStatements(long expected,
+            RequestBuilder request) throws Exception {
+        statistics.clear();
+        ResultActions result = mockMvc.perform(request).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements for %s", result.andReturn().getRequest().getRequestURI())
+                .isEqualTo(expected);
+        return result;
+    }
+}
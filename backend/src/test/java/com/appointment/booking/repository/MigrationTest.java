@@ -0,0 +1,51 @@
+package com.appointment.booking.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.appointment.booking.PostgresIntegrationTest;
+
+/**
+ * Upgrade of a database created by ddl-auto=update, before migrations existed
+ *
+ * Such a database is baselined at V1 (spring.flyway.baseline-on-migrate) and never
+ * runs it - every later change to the schema must come from V2 onwards.
+ */
+class MigrationTest extends PostgresIntegrationTest {
+
+    @Test
+    void legacyDatabaseIsUpgradedFromTheBaseline() throws IOException {
+        DataSource legacy = newDatabase("legacy_schema");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+
+        // The pre-migration schema (V1 is exactly that), with data in it
+        jdbc.execute(new ClassPathResource("db/migration/V1__baseline.sql").getContentAsString(StandardCharsets.UTF_8));
+        jdbc.update("INSERT INTO hospitals (name, address, city) VALUES ('Legacy Hospital', '1 Old Road', 'Colombo')");
+        jdbc.update("INSERT INTO doctors (name, specialization, hospital_id) VALUES ('Dr. Legacy', 'ENT', 1)");
+        jdbc.update("INSERT INTO slots (slot_date, consultation_start_time, max_bookings_per_day, current_bookings, " +
+                "minutes_per_patient, is_available, doctor_id) VALUES (CURRENT_DATE, '09:00', 30, 3, 10, true, 1)");
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(legacy)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(result.migrations).extracting(migration -> migration.version)
+                .first().isEqualTo("2");
+        assertThat(jdbc.queryForObject("SELECT version FROM slots", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT nextval('slots_id_seq')", Long.class))
+                .isGreaterThan(jdbc.queryForObject("SELECT MAX(id) FROM slots", Long.class));
+    }
+}
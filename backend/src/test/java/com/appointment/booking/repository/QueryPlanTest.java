@@ -0,0 +1,100 @@
+package com.appointment.booking.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.appointment.booking.PostgresIntegrationTest;
+
+/**
+ * Query plan regression suite for the hot read paths (indexes: V3__hot_query_indexes.sql)
+ *
+ * HOW: EXPLAIN each query with sequential scans disabled. The planner then uses an index
+ * whenever one can serve the query - a "Seq Scan" left in the plan means none can.
+ * DATA: A few thousand users and bookings are added once - on near-empty tables the
+ * planner's estimates (and so its index choice) are nothing like production.
+ *
+ * NOTE: The SQL mirrors what Hibernate generates for the named repository method -
+ * keep them in step when a query changes.
+ */
+class QueryPlanTest extends PostgresIntegrationTest {
+
+    private static final int USERS = 2000;
+    private static final int BOOKINGS = 20000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static boolean seeded;
+
+    @BeforeEach
+    void seedAndAnalyze() {
+        if (!seeded) {
+            jdbcTemplate.update("INSERT INTO users (name, phone_number, nic) " +
+                    "SELECT 'Plan Guest ' || n, 'plan-' || n, 'PLAN' || n FROM generate_series(1, " + USERS + ") n");
+            jdbcTemplate.update("INSERT INTO bookings (user_id, slot_id, booking_time, appointment_time, status) " +
+                    "SELECT u.id, s.id, now(), s.consultation_start_time, " +
+                    "CASE WHEN n % 5 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END " +
+                    "FROM generate_series(1, " + BOOKINGS + ") n " +
+                    "JOIN LATERAL (SELECT id FROM users WHERE phone_number = 'plan-' || (n % " + USERS + " + 1)) u ON true " +
+                    "JOIN LATERAL (SELECT id, consultation_start_time FROM slots ORDER BY id " +
+                    "OFFSET n % (SELECT COUNT(*) FROM slots) LIMIT 1) s ON true");
+            seeded = true;
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            SlotRepository.findBySlotDateAndIsAvailableTrueOrderByConsultationStartTime | idx_slots_available_date | \
+            SELECT s.*, d.*, h.* FROM slots s JOIN doctors d ON d.id = s.doctor_id JOIN hospitals h ON h.id = d.hospital_id \
+            WHERE s.slot_date = CURRENT_DATE AND s.is_available ORDER BY s.consultation_start_time
+            SlotRepository.findAvailableFrom | idx_slots_available_date | \
+            SELECT s.id, d.name, h.name FROM slots s JOIN doctors d ON d.id = s.doctor_id JOIN hospitals h ON h.id = d.hospital_id \
+            WHERE s.is_available AND s.slot_date >= CURRENT_DATE ORDER BY s.slot_date, s.consultation_start_time, s.id LIMIT 51
+            SlotRepository.findAvailableAfter | idx_slots_available_date | \
+            SELECT s.id, d.name, h.name FROM slots s JOIN doctors d ON d.id = s.doctor_id JOIN hospitals h ON h.id = d.hospital_id \
+            WHERE s.is_available AND s.slot_date >= CURRENT_DATE \
+            AND (s.slot_date, s.consultation_start_time, s.id) > (CURRENT_DATE, TIME '09:00', 100) \
+            ORDER BY s.slot_date, s.consultation_start_time, s.id LIMIT 51
+            BookingRepository.findUpcomingBookingsByUser | idx_bookings_user_status | \
+            SELECT b.id, s.slot_date, d.name, h.name FROM bookings b JOIN slots s ON s.id = b.slot_id \
+            JOIN doctors d ON d.id = s.doctor_id JOIN hospitals h ON h.id = d.hospital_id \
+            WHERE b.user_id = 1 AND b.status = 'CONFIRMED' AND s.slot_date >= CURRENT_DATE \
+            ORDER BY s.slot_date, s.consultation_start_time
+            BookingRepository.findBookingsByUser | idx_bookings_user_status | \
+            SELECT b.id, s.slot_date, d.name, h.name FROM bookings b JOIN slots s ON s.id = b.slot_id \
+            JOIN doctors d ON d.id = s.doctor_id JOIN hospitals h ON h.id = d.hospital_id \
+            WHERE b.user_id = 1 ORDER BY b.booking_time DESC
+            BookingRepository.countConfirmedBookingsBySlot | idx_bookings_slot_confirmed | \
+            SELECT COUNT(b.id) FROM bookings b WHERE b.slot_id = 1 AND b.status = 'CONFIRMED'
+            UserRepository.findByPhoneNumberAndNic | idx_users_phone_nic | \
+            SELECT u.* FROM users u WHERE u.phone_number = '0771234567' AND u.nic = '199012345678'
+            UserRepository.findByPhoneNumberIn | idx_users_phone_nic | \
+            SELECT u.* FROM users u WHERE u.phone_number IN ('0771234567', '0777654321')
+            """)
+    void hotQueryUsesItsIndex(String query, String index, String sql) {
+        String plan = explain(sql);
+
+        assertThat(plan).as("plan of %s", query).doesNotContain("Seq Scan").contains(index);
+    }
+
+    private String explain(String sql) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            return String.join("\n", lines);
+        });
+    }
+}
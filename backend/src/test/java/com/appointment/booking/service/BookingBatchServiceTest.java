@@ -0,0 +1,86 @@
+package com.appointment.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.appointment.booking.PostgresIntegrationTest;
+import com.appointment.booking.dto.BookingBatchRequestDTO;
+import com.appointment.booking.dto.BookingBatchResultDTO;
+import com.appointment.booking.dto.BookingBatchResultDTO.ItemResult;
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.repository.UserRepository;
+
+class BookingBatchServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private BookingBatchService bookingBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void emailCollisionsFailOnlyTheirOwnItems() {
+        Slot slot = newSlot(30);
+        String prefix = "batch" + slot.getId();
+
+        User registered = new User();
+        registered.setName("Registered");
+        registered.setPhoneNumber(prefix + "-registered");
+        registered.setNic(prefix + "-registered");
+        registered.setEmail(prefix + "-taken@example.com");
+        userRepository.save(registered);
+
+        BookingBatchResultDTO result = bookingBatchService.createBookings(new BookingBatchRequestDTO(List.of(
+                item(slot, prefix + "-a", prefix + "-taken@example.com"),    // taken by an existing user
+                item(slot, prefix + "-b", prefix + "-shared@example.com"),
+                item(slot, prefix + "-c", prefix + "-shared@example.com"),   // taken by item 1
+                item(slot, prefix + "-d", null))));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(ItemResult::getError).containsExactly(
+                "Email is already registered to another user", null,
+                "Email is already registered to another user", null);
+        assertThat(jdbcTemplate.queryForObject("SELECT current_bookings FROM slots WHERE id = ?",
+                Integer.class, slot.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void everyItemTakesAPatientRateLimitToken() {
+        Slot slot = newSlot(30);
+        String patient = "batch" + slot.getId() + "-limited";
+
+        // booking.rate-limit.create.identity.capacity = 5
+        List<BookingRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add(item(slot, patient, null));
+        }
+        BookingBatchResultDTO result = bookingBatchService.createBookings(new BookingBatchRequestDTO(items));
+
+        assertThat(result.getResults().get(5).getError())
+                .isEqualTo("Too many booking attempts for this patient - please try again later");
+        assertThat(result.getResults().subList(0, 5)).extracting(ItemResult::getError)
+                .doesNotContain("Too many booking attempts for this patient - please try again later");
+    }
+
+    private static BookingRequestDTO item(Slot slot, String identity, String email) {
+        BookingRequestDTO item = new BookingRequestDTO();
+        item.setSlotId(slot.getId());
+        item.setName("Guest " + identity);
+        item.setPhoneNumber(identity);
+        item.setNic(identity);
+        item.setEmail(email);
+        return item;
+    }
+}
@@ -0,0 +1,174 @@
+package com.appointment.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.appointment.booking.PostgresIntegrationTest;
+import com.appointment.booking.dto.BookingDTO;
+import com.appointment.booking.dto.BookingRequestDTO;
+import com.appointment.booking.entity.Slot;
+
+/**
+ * Stress test for the booking paths - many patients racing for one slot
+ *
+ * - createBooking: ledger admission + the conditional UPDATE (SlotRepository.reserveBooking)
+ * - cancelBooking: versioned Slot + OptimisticRetryExecutor
+ * - waitlist join vs cancelBooking: both lock the slot row
+ */
+class BookingConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int CAPACITY = 30;
+    private static final int PATIENTS = 100;
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelBookingsNeverOverbookASlot() throws Exception {
+        Slot slot = newSlot(CAPACITY);
+
+        List<BookingDTO> booked = bookConcurrently(slot, PATIENTS);
+
+        assertThat(booked).hasSize(CAPACITY);
+        assertThat(booked).extracting(BookingDTO::getAppointmentTime).doesNotHaveDuplicates();
+        assertThat(currentBookings(slot)).isEqualTo(CAPACITY);
+        assertThat(confirmedBookings(slot)).isEqualTo(CAPACITY);
+        assertThat(jdbcTemplate.queryForObject("SELECT is_available FROM slots WHERE id = ?",
+                Boolean.class, slot.getId())).isFalse();
+    }
+
+    @Test
+    void parallelCancellationsAreAllCounted() throws Exception {
+        Slot slot = newSlot(CAPACITY);
+        List<BookingDTO> booked = bookConcurrently(slot, CAPACITY);
+        assertThat(booked).hasSize(CAPACITY);
+
+        // Same slot row (and version) for every cancellation - the losers are retried
+        List<Callable<BookingDTO>> cancellations = new ArrayList<>();
+        for (BookingDTO booking : booked.subList(0, 5)) {
+            int patient = patientOf(booking);
+            cancellations.add(() -> bookingService.cancelBooking(booking.getId(), phone(slot, patient), nic(slot, patient)));
+        }
+        List<BookingDTO> cancelled = runConcurrently(cancellations);
+
+        assertThat(cancelled).hasSize(5).allSatisfy(booking -> assertThat(booking.getStatus()).isEqualTo("CANCELLED"));
+        assertThat(currentBookings(slot)).isEqualTo(CAPACITY - 5);
+        assertThat(confirmedBookings(slot)).isEqualTo(CAPACITY - 5);
+    }
+
+    @Test
+    void joiningTheWaitlistWhileACancellationCommitsIsNeverStranded() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Slot slot = newSlot(1);
+            BookingDTO booking = bookConcurrently(slot, 1).get(0);
+
+            // Either the cancel promotes the new entry, or the join sees the freed position
+            runConcurrently(List.<Callable<Object>>of(
+                    () -> bookingService.cancelBooking(booking.getId(), phone(slot, 0), nic(slot, 0)),
+                    () -> waitlistService.join(request(slot, 1))));
+
+            int waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM waitlist_entries WHERE slot_id = ? AND status = 'WAITING'",
+                    Integer.class, slot.getId());
+            boolean available = jdbcTemplate.queryForObject("SELECT is_available FROM slots WHERE id = ?",
+                    Boolean.class, slot.getId());
+            assertThat(waiting > 0 && available).as("waiting entry on a free slot, round %d", round).isFalse();
+            assertThat(currentBookings(slot)).isEqualTo(confirmedBookings(slot));
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private List<BookingDTO> bookConcurrently(Slot slot, int patients) throws Exception {
+        List<Callable<BookingDTO>> bookings = new ArrayList<>();
+        for (int patient = 0; patient < patients; patient++) {
+            BookingRequestDTO request = request(slot, patient);
+            bookings.add(() -> bookingService.createBooking(request));
+        }
+        return runConcurrently(bookings);
+    }
+
+    private static BookingRequestDTO request(Slot slot, int patient) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setSlotId(slot.getId());
+        request.setName("Patient " + patient);
+        request.setPhoneNumber(phone(slot, patient));
+        request.setNic(nic(slot, patient));
+        request.setPatientNotes("patient " + patient);
+        return request;
+    }
+
+    /**
+     * Starts every task at once; RETURNS the results of those that succeeded
+     */
+    private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> succeeded = new ArrayList<>();
+            for (Future<T> future : futures) {
+                try {
+                    succeeded.add(future.get(60, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    // Turned away (slot full) - expected for everyone past the capacity
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int currentBookings(Slot slot) {
+        return jdbcTemplate.queryForObject("SELECT current_bookings FROM slots WHERE id = ?",
+                Integer.class, slot.getId());
+    }
+
+    private int confirmedBookings(Slot slot) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE slot_id = ? AND status = 'CONFIRMED'",
+                Integer.class, slot.getId());
+    }
+
+    private static int patientOf(BookingDTO booking) {
+        return Integer.parseInt(booking.getPatientNotes().substring("patient ".length()));
+    }
+
+    private static String phone(Slot slot, int patient) {
+        return "07" + slot.getId() + "-" + patient;
+    }
+
+    private static String nic(Slot slot, int patient) {
+        return "NIC" + slot.getId() + "-" + patient;
+    }
+}
@@ -0,0 +1,103 @@
+package com.appointment.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.appointment.booking.PostgresIntegrationTest;
+import com.appointment.booking.service.IdempotencyService.Outcome;
+import com.appointment.booking.service.IdempotencyService.Result;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Old claims are only taken over when nobody is working on them
+ */
+class IdempotencyServiceTest extends PostgresIntegrationTest {
+
+    private static final String REQUEST = "request";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void oldClaimWhoseWorkIsStillRunningIsNotTakenOver() throws Exception {
+        String key = "slow-" + System.nanoTime();
+        insertOldClaim(key);
+
+        // The owner's work transaction - it holds the claim row until it ends
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> owner = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("SELECT 1 FROM idempotency_keys WHERE idempotency_key = ? FOR UPDATE",
+                            Integer.class, key);
+                    locked.countDown();
+                    await(finish);
+                }));
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            AtomicBoolean ran = new AtomicBoolean();
+            Outcome outcome = idempotencyService.execute(key, REQUEST, 201, () -> ran.getAndSet(true));
+
+            assertThat(outcome.result()).isEqualTo(Result.IN_PROGRESS);
+            assertThat(ran).isFalse();
+        } finally {
+            finish.countDown();
+            owner.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void oldClaimOfACrashedRequestIsTakenOver() throws Exception {
+        String key = "crashed-" + System.nanoTime();
+        insertOldClaim(key);
+
+        Outcome outcome = idempotencyService.execute(key, REQUEST, 201, () -> "booked");
+
+        assertThat(outcome.result()).isEqualTo(Result.EXECUTED);
+        assertThat(jdbcTemplate.queryForObject("SELECT response_body FROM idempotency_keys WHERE idempotency_key = ?",
+                String.class, key)).isEqualTo("\"booked\"");
+    }
+
+    // ============ HELPERS ============
+
+    /** A claim for REQUEST, older than booking.idempotency.in-progress-timeout-ms */
+    private void insertOldClaim(String key) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsString(REQUEST).getBytes(StandardCharsets.UTF_8));
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at) VALUES (?, ?, ?)",
+                key, HexFormat.of().formatHex(digest), Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.appointment.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.appointment.booking.PostgresIntegrationTest;
+import com.appointment.booking.dto.SlotDTO;
+import com.appointment.booking.entity.Slot;
+
+/**
+ * After-commit events of concurrent transactions arrive in any order -
+ * the in-memory indexes must end up at the newest count, not the last delivered
+ */
+class SlotCapacityEventOrderTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DoctorAvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private EarliestSlotIndex earliestSlotIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void olderEventsDeliveredLateAreIgnored() {
+        Slot slot = slotInWindow();
+        long loaded = slot.getVersion();
+        remaining(slot);
+        earliest(slot);
+
+        SlotCapacityChangedEvent newer = SlotCapacityChangedEvent.of(slot, 5, loaded + 5);
+        SlotCapacityChangedEvent older = SlotCapacityChangedEvent.of(slot, 2, loaded + 2);
+        for (SlotCapacityChangedEvent event : List.of(newer, older)) {
+            availabilityCalendar.onCapacityChanged(event);
+            earliestSlotIndex.onCapacityChanged(event);
+        }
+
+        assertThat(remaining(slot)).isEqualTo(5);
+        assertThat(earliest(slot).getCurrentBookings()).isEqualTo(5);
+    }
+
+    @Test
+    void eventsAlreadyInTheLoadedSnapshotAreIgnored() {
+        Slot slot = slotInWindow();
+        remaining(slot);
+        earliest(slot);
+
+        // Committed before the indexes were built - its count is already in them
+        SlotCapacityChangedEvent stale = SlotCapacityChangedEvent.of(slot, 7, slot.getVersion());
+        availabilityCalendar.onCapacityChanged(stale);
+        earliestSlotIndex.onCapacityChanged(stale);
+
+        assertThat(remaining(slot)).isEqualTo(10);
+        assertThat(earliest(slot).getCurrentBookings()).isZero();
+    }
+
+    // ============ HELPERS ============
+
+    /** newSlot is beyond both windows - move it in, keeping its version */
+    private Slot slotInWindow() {
+        Slot slot = newSlot(10);
+        slot.setSlotDate(LocalDate.now().plusDays(2));
+        jdbcTemplate.update("UPDATE slots SET slot_date = ? WHERE id = ?", slot.getSlotDate(), slot.getId());
+        // As the scheduler would announce it - drops indexes built by other tests
+        SlotScheduleChangedEvent scheduled = SlotScheduleChangedEvent.of(slot.getDoctor().getId());
+        availabilityCalendar.onScheduleChanged(scheduled);
+        earliestSlotIndex.onScheduleChanged(scheduled);
+        return slot;
+    }
+
+    private int remaining(Slot slot) {
+        return availabilityCalendar.getAvailability(slot.getDoctor().getId(), slot.getSlotDate(), slot.getSlotDate())
+                .getRemainingSlots()[0];
+    }
+
+    private SlotDTO earliest(Slot slot) {
+        List<SlotDTO> slots = earliestSlotIndex.findEarliest("Cardiology", null,
+                slot.getDoctor().getHospital().getId(), 1);
+        assertThat(slots).extracting(SlotDTO::getId).containsExactly(slot.getId());
+        return slots.get(0);
+    }
+}
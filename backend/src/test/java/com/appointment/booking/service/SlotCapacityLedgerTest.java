@@ -0,0 +1,73 @@
+package com.appointment.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.appointment.booking.entity.Slot;
+
+/**
+ * The ledger must never keep refusing positions the database still has
+ */
+class SlotCapacityLedgerTest {
+
+    private static final long SLOT_ID = 1L;
+
+    private final SlotCapacityLedger ledger = new SlotCapacityLedger();
+
+    @Test
+    void cancellationBeforeTheFirstSeedIsNotCountedTwice() {
+        // Booking A loaded the row at 28; a cancel committed (DB 27) before the entry existed
+        ledger.release(row(30, 27));
+        SlotCapacityLedger.Ticket a = ledger.tryReserve(row(30, 28));
+        assertThat(a.count()).isEqualTo(1);
+        ledger.recordReserved(a, 1, 28);
+
+        // Positions 29 and 30 are still free
+        for (int current = 28; current < 30; current++) {
+            SlotCapacityLedger.Ticket ticket = ledger.tryReserve(row(30, current));
+            assertThat(ticket.count()).isEqualTo(1);
+            ledger.recordReserved(ticket, 1, current + 1);
+        }
+        assertThat(ledger.tryReserve(row(30, 30)).count()).isZero();
+    }
+
+    @Test
+    void positionsFreedElsewhereAreSeenOnTheNextRow() {
+        SlotCapacityLedger.Ticket full = ledger.tryReserve(row(30, 29));
+        ledger.recordFull(full);
+        assertThat(ledger.tryReserve(row(30, 30)).count()).isZero();
+
+        // Cancelled on another node - this node only learns it from the row
+        assertThat(ledger.tryReserve(row(30, 25)).count()).isEqualTo(1);
+    }
+
+    @Test
+    void inFlightTicketsAreAdmissionControl() {
+        SlotCapacityLedger.Ticket first = ledger.tryReserve(row(30, 28), 2);
+        assertThat(first.count()).isEqualTo(2);
+        // The row hasn't changed yet, but both remaining positions are spoken for
+        assertThat(ledger.tryReserve(row(30, 28)).count()).isZero();
+
+        ledger.recordReserved(first, 1, 29);
+        assertThat(ledger.tryReserve(row(30, 29)).count()).isEqualTo(1);
+    }
+
+    @Test
+    void capacityChangesAreTakenFromTheRow() {
+        ledger.recordFull(ledger.tryReserve(row(30, 29)));
+        assertThat(ledger.tryReserve(row(30, 30)).count()).isZero();
+
+        assertThat(ledger.tryReserve(row(40, 30), 10).count()).isEqualTo(10);
+    }
+
+    private static Slot row(int max, int current) {
+        Slot slot = new Slot(SLOT_ID, LocalDate.now().plusDays(1), LocalTime.of(9, 0), null);
+        slot.setMaxBookingsPerDay(max);
+        slot.setCurrentBookings(current);
+        return slot;
+    }
+}
@@ -11,9 +11,17 @@ import { Booking, BookingRequest, BookingLookupRequest } from './types';
  * ENDPOINT: POST /api/bookings
  * 
  * NEW: No userId required, includes user details in request
+ * 
+ * IDEMPOTENCY: resending with the same idempotencyKey returns the first
+ * booking instead of creating another one (safe to retry after a timeout)
  */
-export const createBooking = async (request: BookingRequest): Promise<Booking> => {
-  const response = await apiClient.post<Booking>('/bookings', request);
+export const createBooking = async (
+  request: BookingRequest,
+  idempotencyKey?: string
+): Promise<Booking> => {
+  const response = await apiClient.post<Booking>('/bookings', request, {
+    headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined,
+  });
   return response.data;
 };
 
@@ -1,5 +1,5 @@
 import { apiClient } from './client';
-import { Doctor } from './types';
+import { Doctor, DoctorAvailability } from './types';
 
 /**
  * Doctor API Functions
@@ -41,4 +41,22 @@ export const getDoctorById = async (id: number): Promise<Doctor> => {
 export const getSpecializations = async (): Promise<string[]> => {
   const response = await apiClient.get<string[]>('/doctors/specializations');
   return response.data;
-};
\ No newline at end of file
+};
+
+/**
+ * Get a doctor's availability calendar (remaining positions per day)
+ * 
+ * ENDPOINT: GET /api/doctors/{id}/availability?from={yyyy-MM-dd}&to={yyyy-MM-dd}
+ * 
+ * WHY: One request for the whole date picker instead of one slot search per day
+ * Both dates optional - from defaults to today, to to the end of the server's window
+ */
+export const getDoctorAvailability = async (
+  id: number,
+  range?: { from?: string; to?: string }
+): Promise<DoctorAvailability> => {
+  const response = await apiClient.get<DoctorAvailability>(`/doctors/${id}/availability`, {
+    params: range
+  });
+  return response.data;
+};
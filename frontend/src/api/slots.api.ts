@@ -1,31 +1,60 @@
 import { apiClient } from './client';
-import { Slot, SlotSearchRequest } from './types';
+import { Slot, SlotCapacityUpdate, SlotPage, SlotSearchRequest } from './types';
 
 /**
  * Slot API Functions
  */
 
 /**
- * Search slots with filters
+ * Search slots with filters, one page at a time
  * 
  * ENDPOINT: POST /api/slots/search
  * 
  * WHY POST: Complex search criteria, cleaner as JSON body
+ * 
+ * USAGE: Hospital + specialization + a whole week in one call; for more
+ * pages send the same request again with cursor = previous nextCursor
+ */
+export const searchSlots = async (searchRequest: SlotSearchRequest): Promise<SlotPage> => {
+  const response = await apiClient.post<SlotPage>('/slots/search', searchRequest);
+  return response.data;
+};
+
+/**
+ * Get available slots (no filters), one page at a time
+ * 
+ * ENDPOINT: GET /api/slots?cursor={nextCursor}&size={size}
+ * 
+ * USAGE: Call without a cursor for the first page, then pass the
+ * previous page's nextCursor until it comes back null
  */
-export const searchSlots = async (searchRequest: SlotSearchRequest): Promise<Slot[]> => {
-  const response = await apiClient.post<Slot[]>('/slots/search', searchRequest);
+export const getAllAvailableSlots = async (
+  cursor?: string,
+  size?: number
+): Promise<SlotPage> => {
+  const response = await apiClient.get<SlotPage>('/slots', {
+    params: { cursor, size }
+  });
   return response.data;
 };
 
 /**
- * Get all available slots (no filters)
+ * Soonest openings for a specialization, across all doctors
  * 
- * ENDPOINT: GET /api/slots
+ * ENDPOINT: GET /api/slots/earliest?specialization={s}&city={c}&hospitalId={id}&limit={n}
  * 
- * WARNING: Can return a lot of data in production
+ * WHY: "First available Cardiology appointment" in one call instead of
+ * searching date by date. Ordered by slotDate, then nextAvailableTime.
  */
-export const getAllAvailableSlots = async (): Promise<Slot[]> => {
-  const response = await apiClient.get<Slot[]>('/slots');
+export const getEarliestSlots = async (filters: {
+  specialization: string;
+  city?: string;
+  hospitalId?: number;
+  limit?: number; // default 5, max 20
+}): Promise<Slot[]> => {
+  const response = await apiClient.get<Slot[]>('/slots/earliest', {
+    params: filters
+  });
   return response.data;
 };
 
@@ -37,4 +66,45 @@ export const getAllAvailableSlots = async (): Promise<Slot[]> => {
 export const getSlotsByDoctor = async (doctorId: number): Promise<Slot[]> => {
   const response = await apiClient.get<Slot[]>(`/slots/doctor/${doctorId}`);
   return response.data;
-};
\ No newline at end of file
+};
+
+/**
+ * Subscribe to live capacity updates (Server-Sent Events)
+ * 
+ * ENDPOINT: GET /api/slots/stream?date={date}&specialization={s}&doctorId={id}
+ * 
+ * USAGE: Load the slot list once, then patch slots by slotId in onUpdate
+ * instead of re-fetching. Returns an unsubscribe function.
+ * 
+ * NOTE: EventSource exists on web only - where it is missing (native without a
+ * polyfill) this is a no-op and the screen keeps its normal refresh.
+ * EventSource reconnects by itself; reload the list in onReconnect, updates sent
+ * while disconnected are not replayed.
+ */
+export const subscribeToSlotAvailability = (
+  filters: { date?: string; specialization?: string; doctorId?: number },
+  onUpdate: (update: SlotCapacityUpdate) => void,
+  onReconnect?: () => void
+): (() => void) => {
+  if (typeof EventSource === 'undefined') {
+    return () => {};
+  }
+
+  const params = new URLSearchParams();
+  if (filters.date) params.append('date', filters.date);
+  if (filters.specialization) params.append('specialization', filters.specialization);
+  if (filters.doctorId != null) params.append('doctorId', String(filters.doctorId));
+
+  const source = new EventSource(`${apiClient.defaults.baseURL}/slots/stream?${params.toString()}`);
+  let opened = false;
+
+  source.addEventListener('capacity', (event) => {
+    onUpdate(JSON.parse((event as MessageEvent).data) as SlotCapacityUpdate);
+  });
+  source.onopen = () => {
+    if (opened) onReconnect?.();
+    opened = true;
+  };
+
+  return () => source.close();
+};
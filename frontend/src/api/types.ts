@@ -47,6 +47,32 @@ export interface Slot {
   hospital: Hospital;
 }
 
+// One page of slots from GET /api/slots (keyset pagination)
+export interface SlotPage {
+  items: Slot[];
+  nextCursor: string | null; // pass back as ?cursor= for the next page
+}
+
+// Live capacity update from GET /api/slots/stream (patch the slot with the same id)
+export interface SlotCapacityUpdate {
+  slotId: number;
+  doctorId: number;
+  slotDate: string;
+  currentBookings: number;
+  remainingSlots: number;
+  nextAvailableTime: string;
+  isAvailable: boolean;
+}
+
+// Doctor calendar from GET /api/doctors/{id}/availability
+// remainingSlots[i] is the day from + i: n > 0 positions left, 0 full, -1 no session
+export interface DoctorAvailability {
+  doctorId: number;
+  from: string;
+  to: string;
+  remainingSlots: number[];
+}
+
 // Booking Types
 export interface Booking {
   id: number;
@@ -72,11 +98,16 @@ export interface User {
 }
 
 // Request Types
+// POST /api/slots/search - every filter optional, combine freely
 export interface SlotSearchRequest {
   hospitalId?: number;
   doctorId?: number;
   specialization?: string;
-  date: string;
+  date?: string; // single day, or a range:
+  fromDate?: string; // default today
+  toDate?: string; // default fromDate + 6 days, max 31 days
+  cursor?: string; // nextCursor of the previous page
+  size?: number; // default 50, max 200
 }
 
 // NEW: Guest Booking Request
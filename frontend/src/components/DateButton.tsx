@@ -8,6 +8,7 @@ interface DateButtonProps {
   isSelected: boolean;
   isToday: boolean;
   onPress: () => void;
+  remainingSlots?: number; // from the doctor's availability calendar, if loaded
 }
 
 const DateButton: React.FC<DateButtonProps> = ({
@@ -17,7 +18,11 @@ const DateButton: React.FC<DateButtonProps> = ({
   isSelected,
   isToday,
   onPress,
+  remainingSlots,
 }) => {
+  // -1: no session, 0: fully booked
+  const unavailable = remainingSlots !== undefined && remainingSlots <= 0;
+
   return (
     <TouchableOpacity
       onPress={onPress}
@@ -33,6 +38,7 @@ const DateButton: React.FC<DateButtonProps> = ({
         shadowOpacity: isSelected ? 0.3 : 0,
         shadowRadius: isSelected ? 8 : 0,
         elevation: isSelected ? 8 : 0,
+        opacity: unavailable && !isSelected ? 0.5 : 1,
       }}
     >
       <Text
@@ -62,6 +68,18 @@ const DateButton: React.FC<DateButtonProps> = ({
       >
         {month}
       </Text>
+      {unavailable && (
+        <Text
+          style={{
+            marginTop: 4,
+            fontSize: 10,
+            fontWeight: '600',
+            color: isSelected ? '#FFFFFF' : '#DC2626',
+          }}
+        >
+          {remainingSlots === 0 ? 'Full' : 'No session'}
+        </Text>
+      )}
       {isToday && (
         <View
           style={{
@@ -1,20 +1,29 @@
 import React, { useMemo } from 'react';
 import { View, Text, ScrollView, TouchableOpacity } from 'react-native';
-import { format, addDays } from 'date-fns';
+import { format, addDays, differenceInCalendarDays, parseISO } from 'date-fns';
 import DateButton from '@/components/DateButton';
 import { isWeb } from '@/utils/platform';
+import { DoctorAvailability } from '@/api/types';
 
 interface DateSelectorProps {
   selectedDate: string;
   onSelectDate: (date: string) => void;
   daysToShow?: number;
+  availability?: DoctorAvailability; // marks full / no-session days when given
 }
 
 const DateSelector: React.FC<DateSelectorProps> = ({
   selectedDate,
   onSelectDate,
   daysToShow = 30,
+  availability,
 }) => {
+  const remainingOn = (date: string): number | undefined => {
+    if (!availability) return undefined;
+    const index = differenceInCalendarDays(parseISO(date), parseISO(availability.from));
+    return availability.remainingSlots[index];
+  };
+
   const dates = useMemo(() => {
     const days = [];
     for (let i = 0; i < daysToShow; i++) {
@@ -103,6 +112,7 @@ const DateSelector: React.FC<DateSelectorProps> = ({
               isSelected={selectedDate === day.date}
               isToday={day.isToday}
               onPress={() => onSelectDate(day.date)}
+              remainingSlots={remainingOn(day.date)}
             />
           ))}
         </ScrollView>
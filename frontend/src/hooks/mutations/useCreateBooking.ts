@@ -1,22 +1,38 @@
+import { useRef } from 'react';
 import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { createBooking } from '@/api/bookings.api';
 import { BookingRequest } from '@/api/types';
 import { Alert } from 'react-native';
 
+const newIdempotencyKey = () =>
+  `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`;
+
 /**
  * Create Booking Mutation - UPDATED for Guest Bookings
+ * 
+ * IDEMPOTENCY: the same request keeps the same Idempotency-Key until it succeeds,
+ * so a retry after a lost response (network error / double tap) can't book twice.
+ * Only network errors are retried - the server's own answers are final.
  */
 export const useCreateBooking = () => {
   const queryClient = useQueryClient();
+  const pendingKey = useRef<{ request: string; key: string } | null>(null);
 
   return useMutation({
     mutationFn: (request: BookingRequest) => {
       console.log('🚀 Creating booking:', request);
-      return createBooking(request);
+      const requestJson = JSON.stringify(request);
+      if (pendingKey.current?.request !== requestJson) {
+        pendingKey.current = { request: requestJson, key: newIdempotencyKey() };
+      }
+      return createBooking(request, pendingKey.current.key);
     },
     
+    retry: (failureCount, error: any) => !error.response && failureCount < 2,
+    
     onSuccess: (data) => {
       console.log('✅ Booking created:', data);
+      pendingKey.current = null;
       
       // Invalidate all slot queries (availability changed)
       queryClient.invalidateQueries({ 
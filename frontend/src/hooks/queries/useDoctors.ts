@@ -1,5 +1,10 @@
 import { useQuery } from '@tanstack/react-query';
-import { getDoctors, getDoctorById, getSpecializations } from '@/api/doctors.api';
+import {
+  getDoctors,
+  getDoctorById,
+  getSpecializations,
+  getDoctorAvailability,
+} from '@/api/doctors.api';
 
 /**
  * React Query Hooks for Doctors
@@ -50,4 +55,23 @@ export const useSpecializations = () => {
     queryFn: getSpecializations,
     staleTime: 60 * 60 * 1000, // 1 hour (very stable data)
   });
-};
\ No newline at end of file
+};
+
+/**
+ * Get a doctor's availability calendar for the date picker
+ * 
+ * USAGE:
+ * const { data: availability } = useDoctorAvailability(doctorId);
+ * <DateSelector availability={availability} ... />
+ */
+export const useDoctorAvailability = (
+  doctorId: number,
+  range?: { from?: string; to?: string }
+) => {
+  return useQuery({
+    queryKey: ['doctors', 'availability', doctorId, range],
+    queryFn: () => getDoctorAvailability(doctorId, range),
+    enabled: !!doctorId,
+    staleTime: 30 * 1000, // 30 seconds (counts change as people book)
+  });
+};
@@ -1,5 +1,5 @@
 import { useQuery } from '@tanstack/react-query';
-import { searchSlots, getSlotsByDoctor } from '@/api/slots.api';
+import { searchSlots, getSlotsByDoctor, getEarliestSlots } from '@/api/slots.api';
 import { SlotSearchRequest } from '@/api/types';
 
 /**
@@ -18,12 +18,15 @@ import { SlotSearchRequest } from '@/api/types';
  * 
  * WHY ENABLED CHECK:
  * Don't search until we have at least a date
+ * 
+ * RETURNS: the first page's slots (up to size, default 50)
  */
 export const useSlotSearch = (searchRequest: SlotSearchRequest) => {
   return useQuery({
     queryKey: ['slots', 'search', searchRequest],
     queryFn: () => searchSlots(searchRequest),
-    enabled: !!searchRequest.date, // Only search if date is provided
+    select: (page) => page.items,
+    enabled: !!(searchRequest.date || searchRequest.fromDate), // Only search if a date is provided
     staleTime: 1 * 60 * 1000, // 1 minute (slots change frequently as they get booked)
   });
 };
@@ -41,4 +44,24 @@ export const useDoctorSlots = (doctorId: number) => {
     enabled: !!doctorId,
     staleTime: 1 * 60 * 1000,
   });
-};
\ No newline at end of file
+};
+
+/**
+ * Soonest openings for a specialization
+ * 
+ * USAGE:
+ * const { data: earliest } = useEarliestSlots({ specialization: 'Cardiology', city: 'Colombo' });
+ */
+export const useEarliestSlots = (filters: {
+  specialization: string;
+  city?: string;
+  hospitalId?: number;
+  limit?: number;
+}) => {
+  return useQuery({
+    queryKey: ['slots', 'earliest', filters],
+    queryFn: () => getEarliestSlots(filters),
+    enabled: !!filters.specialization,
+    staleTime: 30 * 1000, // 30 seconds (the soonest opening moves with every booking)
+  });
+};